@@ -0,0 +1,130 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop HTTP load generator: N concurrent clients request one URL back to back for a fixed time,
+// then throughput and latency percentiles are printed as one line.
+// Instead of a URL, "@file" replays a list of URLs (one per line, e.g. written by the seed profile);
+// each client walks the list from its own offset.
+// Run with the single-file launcher (JDK 21):
+//   java bench/HttpBench.java <url|@file> [concurrency=64] [seconds=30] [warmupSeconds=10] [label]
+public class HttpBench {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: java HttpBench.java <url> [concurrency] [seconds] [warmupSeconds] [label]");
+            System.exit(2);
+        }
+        List<URI> uris = new ArrayList<>();
+        if (args[0].startsWith("@")) {
+            for (String line : Files.readAllLines(Path.of(args[0].substring(1)))) {
+                if (!line.isBlank()) {
+                    uris.add(URI.create(line.trim()));
+                }
+            }
+        } else {
+            uris.add(URI.create(args[0]));
+        }
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        String label = args.length > 4 ? args[4] : args[0];
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (URI uri : uris) {
+            requests.add(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build());
+        }
+
+        run(client, requests, concurrency, warmupSeconds, null);
+        Result result = run(client, requests, concurrency, seconds, label);
+        System.out.println(result);
+    }
+
+    private static Result run(HttpClient client, List<HttpRequest> requests, int concurrency, int seconds, String label)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> perClient = new ArrayList<>();
+        int[] counts = new int[concurrency];
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                long[] latencies = new long[1 << 16];
+                perClient.add(latencies);
+                int clientIndex = c;
+                executor.submit(() -> {
+                    long[] samples = latencies;
+                    int n = 0;
+                    int next = clientIndex * requests.size() / concurrency;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.get(next);
+                        next = (next + 1) % requests.size();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, samples.length * 2);
+                            perClient.set(clientIndex, samples);
+                        }
+                        samples[n++] = System.nanoTime() - sent;
+                    }
+                    counts[clientIndex] = n;
+                    return null;
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        // Closing the executor waited for every client, so their arrays and counts are visible here
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(perClient.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(label, concurrency, total / elapsedSeconds,
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), errors.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String label, int concurrency, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis, long errors) {
+        @Override
+        public String toString() {
+            return String.format("%-40s c=%-4d %10.1f req/s  p50=%8.2f ms  p99=%8.2f ms  p99.9=%8.2f ms  errors=%d",
+                    label, concurrency, throughput, p50Millis, p99Millis, p999Millis, errors);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Compare platform-thread and virtual-thread request handling.
+# Builds the jar, starts the app once per mode, and runs HttpBench against the item list and one image.
+#
+#   bench/compare-modes.sh                       # uses the datasource from application.properties
+#   SPRING_PROFILES_ACTIVE=seed bench/compare-modes.sh
+#
+# Tunables (env): CONCURRENCY (default 200), DURATION (30), WARMUP (10), DB_POOL_SIZE (20), PORT (8080)
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${CONCURRENCY:-200}
+DURATION=${DURATION:-30}
+WARMUP=${WARMUP:-10}
+PORT=${PORT:-8080}
+BASE="http://localhost:${PORT}"
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/wildcats-finder-*.jar | grep -v original | head -1)
+
+wait_for_app() {
+  for _ in $(seq 1 120); do
+    if curl -sf "${BASE}/api/items/simple" > /dev/null; then return 0; fi
+    sleep 1
+  done
+  echo "application did not start" >&2
+  return 1
+}
+
+for mode in false true; do
+  label=$([ "$mode" = true ] && echo virtual || echo platform)
+  VIRTUAL_THREADS=$mode java -jar "$JAR" --server.port="$PORT" > "target/bench-${label}.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  wait_for_app
+
+  image=$(curl -s "${BASE}/api/items/simple" | grep -o '/api/items/images/[^"]*' | head -1 || true)
+
+  java bench/HttpBench.java "${BASE}/api/items" "$CONCURRENCY" "$DURATION" "$WARMUP" "${label} /api/items"
+  if [ -n "$image" ]; then
+    java bench/HttpBench.java "${BASE}${image}" "$CONCURRENCY" "$DURATION" "$WARMUP" "${label} /api/items/images/{filename}"
+  else
+    echo "${label}: no item with an image, skipping image benchmark"
+  fi
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+done
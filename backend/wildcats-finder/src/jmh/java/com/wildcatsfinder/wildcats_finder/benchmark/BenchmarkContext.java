@@ -0,0 +1,33 @@
+package com.wildcatsfinder.wildcats_finder.benchmark;
+
+import com.wildcatsfinder.wildcats_finder.WildcatsFinderApplication;
+import com.wildcatsfinder.wildcats_finder.service.SyntheticDataGenerator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+// Starts the application (no web server) against a private in-memory H2 database and seeds it
+// through SyntheticDataGenerator with a fixed seed and the requested size, so benchmark runs are comparable.
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(int itemCount) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(WildcatsFinderApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.sql.init.mode=never",
+                        "--file.upload-dir=./target/jmh-uploads",
+                        "--logging.level.root=WARN");
+        context.getBean(SyntheticDataGenerator.class).generate(SyntheticDataGenerator.Settings.of(itemCount));
+        return context;
+    }
+}
@@ -0,0 +1,99 @@
+package com.wildcatsfinder.wildcats_finder.benchmark;
+
+import com.wildcatsfinder.wildcats_finder.service.FileStorageService;
+import com.wildcatsfinder.wildcats_finder.service.ImageVariantService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// FileStorageService.storeFile/loadFile on the local disk.
+// Payloads carry a WebP signature so no thumbnail work is queued in the background, and every
+// stored payload is unique (a counter is stamped into it) so the deduplicating store really writes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileStorageBenchmark {
+
+    @Param({ "65536", "1048576" })
+    public int size;
+
+    private Path directory;
+    private ImageVariantService imageVariantService;
+    private FileStorageService fileStorageService;
+    private byte[] payload;
+    private long counter;
+    private String storedFilename;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jmh-uploads");
+        imageVariantService = new ImageVariantService(1, 1);
+        fileStorageService = new FileStorageService();
+        ReflectionTestUtils.setField(fileStorageService, "uploadDir", directory.toString());
+        ReflectionTestUtils.setField(fileStorageService, "maxUploadSize", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(fileStorageService, "orphanGraceSeconds", 0L);
+        ReflectionTestUtils.setField(fileStorageService, "imageVariantService", imageVariantService);
+
+        payload = new byte[size];
+        new Random(42).nextBytes(payload);
+        System.arraycopy("RIFF\0\0\0\0WEBP".getBytes(), 0, payload, 0, 12);
+        storedFilename = fileStorageService.storeFile(multipart());
+    }
+
+    // Keep the disk usage of the store benchmark bounded
+    @TearDown(Level.Iteration)
+    public void clearStoredFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().equals(storedFilename))
+                    .forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        imageVariantService.shutdown();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String storeFile() throws IOException {
+        return fileStorageService.storeFile(multipart());
+    }
+
+    @Benchmark
+    public byte[] loadFile() throws IOException {
+        return fileStorageService.loadFile(storedFilename);
+    }
+
+    private MockMultipartFile multipart() {
+        ByteBuffer.wrap(payload).putLong(16, counter++);
+        return new MockMultipartFile("image", "photo.webp", "image/webp", payload);
+    }
+}
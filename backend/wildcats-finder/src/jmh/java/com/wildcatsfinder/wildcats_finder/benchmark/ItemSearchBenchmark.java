@@ -0,0 +1,62 @@
+package com.wildcatsfinder.wildcats_finder.benchmark;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.service.ItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ItemService.searchItems: index lookup plus the batch load of the matching rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(items);
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemEntity> searchByText() {
+        return itemService.searchItems("wallet", null, null);
+    }
+
+    @Benchmark
+    public List<ItemEntity> searchByPrefixAndLocation() {
+        return itemService.searchItems("black wal", null, "library");
+    }
+
+    @Benchmark
+    public List<ItemEntity> searchWithoutMatches() {
+        return itemService.searchItems("spaceship", null, null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.wildcatsfinder.wildcats_finder.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildcatsfinder.wildcats_finder.dto.ItemDTO;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.service.ItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response building for item lists: DTO mapping and Jackson serialization, without the database.
+// The list is loaded once per trial with the same query the dashboard uses.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSerializationBenchmark {
+
+    @Param({ "20", "500" })
+    public int listSize;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<ItemEntity> items;
+    private List<ItemDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(listSize);
+        objectMapper = context.getBean(ObjectMapper.class);
+        items = context.getBean(ItemService.class).getItemFeed(null, null, listSize);
+        dtos = buildItemDtos();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDTO> buildItemDtos() {
+        List<ItemDTO> result = new ArrayList<>(items.size());
+        for (ItemEntity item : items) {
+            result.add(new ItemDTO(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeItemEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] serializeItemDtos() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
@@ -0,0 +1,62 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.wildcatsfinder.wildcats_finder.benchmark.BenchmarkContext;
+import com.wildcatsfinder.wildcats_finder.dto.ClaimDTO;
+import com.wildcatsfinder.wildcats_finder.entity.ClaimEntity;
+import com.wildcatsfinder.wildcats_finder.service.ClaimService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ClaimController.convertToDTO over the claim list (lives in this package because the helper is package-private)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimConversionBenchmark {
+
+    // Seeded items; roughly one in five gets a claim
+    @Param({ "1000", "10000" })
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private ClaimController claimController;
+    private List<ClaimEntity> claims;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(items);
+        claimController = context.getBean(ClaimController.class);
+        claims = context.getBean(ClaimService.class).getAllClaims();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ClaimDTO> convertAll() {
+        List<ClaimDTO> result = new ArrayList<>(claims.size());
+        for (ClaimEntity claim : claims) {
+            result.add(claimController.convertToDTO(claim));
+        }
+        return result;
+    }
+}
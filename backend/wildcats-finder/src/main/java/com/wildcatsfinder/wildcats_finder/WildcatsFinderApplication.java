@@ -2,8 +2,10 @@ package com.wildcatsfinder.wildcats_finder;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class WildcatsFinderApplication {
 
 	public static void main(String[] args) {
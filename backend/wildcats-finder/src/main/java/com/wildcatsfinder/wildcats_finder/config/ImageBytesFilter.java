@@ -0,0 +1,49 @@
+package com.wildcatsfinder.wildcats_finder.config;
+
+import com.wildcatsfinder.wildcats_finder.service.FileStorageService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Counts the image bytes sent to clients (files.bytes.read) from the Content-Length Spring sets for the
+// resolved body: the whole file for 200, the requested range for 206, nothing for 304. The file itself is
+// streamed untouched, so the resource keeps its file-channel path.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class ImageBytesFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || !request.getRequestURI().startsWith(FileStorageService.IMAGE_URL_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+
+        int status = response.getStatus();
+        String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if ((status == HttpServletResponse.SC_OK || status == HttpServletResponse.SC_PARTIAL_CONTENT)
+                && contentLength != null) {
+            try {
+                fileStorageService.recordBytesServed(Long.parseLong(contentLength));
+            } catch (NumberFormatException e) {
+                // not a length we set; nothing to count
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.wildcatsfinder.wildcats_finder.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Metrics wiring. Most meters come from Spring Boot auto-configuration and are tuned in application.properties:
+// http.server.requests (every controller method), spring.data.repository.invocations (every repository call)
+// and hikaricp.connections.acquire (pool wait time). This class adds what Boot does not provide.
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfig {
+
+    // Tag http.server.requests with the controller method that handled it, e.g. handler="ItemController.getAllItems"
+    @Bean
+    public DefaultServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and(KeyValue.of("handler", handlerName(context.getCarrier())));
+            }
+        };
+    }
+
+    // Count every statement Hibernate prepares, for the per-request statement histogram
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,86 @@
+package com.wildcatsfinder.wildcats_finder.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Flags requests whose SQL statement count goes over the budget of their controller method.
+// Runs inside RequestMetricsFilter, which resets the per-thread count before the request.
+// Statements fired while the response is serialized (lazy loading) are included: when the header or
+// reject mode is on, the body is buffered so the verdict can still change the response.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    @Autowired
+    private QueryBudgetProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        // Image bodies and the event stream are streamed and run no SQL (buffering the stream would hold
+        // it back forever); actuator is not ours
+        return properties.getMode() == QueryBudgetProperties.Mode.OFF
+                || path.startsWith("/api/items/images/")
+                || path.startsWith("/api/events/")
+                || path.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean buffer = properties.isExposeHeader() || properties.getMode() == QueryBudgetProperties.Mode.REJECT;
+        if (!buffer) {
+            chain.doFilter(request, response);
+            check(request);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        int statements = SqlStatementCounter.current();
+        boolean overBudget = check(request);
+
+        if (overBudget && properties.getMode() == QueryBudgetProperties.Mode.REJECT) {
+            wrapper.resetBuffer();
+            wrapper.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            wrapper.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            wrapper.getOutputStream().write(("Query budget exceeded: " + statements + " SQL statements")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        if (properties.isExposeHeader()) {
+            wrapper.setHeader(STATEMENTS_HEADER, Integer.toString(statements));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private boolean check(HttpServletRequest request) {
+        int statements = SqlStatementCounter.current();
+        String handler = MetricsConfig.handlerName(request);
+        int budget = properties.budgetFor(handler);
+        if (statements <= budget) {
+            return false;
+        }
+        log.warn("Query budget exceeded: {} {} ({}) ran {} SQL statements, budget {}",
+                request.getMethod(), request.getRequestURI(), handler, statements, budget);
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.wildcatsfinder.wildcats_finder.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// query-budget.* settings for QueryBudgetFilter
+@ConfigurationProperties(prefix = "query-budget")
+public class QueryBudgetProperties {
+
+    public enum Mode { OFF, LOG, REJECT }
+
+    // OFF: no checks. LOG: warn about requests over budget. REJECT: also answer them with 500 (dev/test only:
+    // the request has already run, only its response is replaced)
+    private Mode mode = Mode.LOG;
+
+    // Statements allowed for endpoints without their own entry
+    private int defaultBudget = 10;
+
+    // Budgets per controller method, keyed like the metrics handler tag: query-budget.endpoints[ItemController.getAllItems]=1
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    // Send the statement count back as X-SQL-Statements (buffers JSON responses; meant for dev)
+    private boolean exposeHeader = false;
+
+    public int budgetFor(String handler) {
+        return endpoints.getOrDefault(handler, defaultBudget);
+    }
+
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+
+    public int getDefaultBudget() { return defaultBudget; }
+    public void setDefaultBudget(int defaultBudget) { this.defaultBudget = defaultBudget; }
+
+    public Map<String, Integer> getEndpoints() { return endpoints; }
+    public void setEndpoints(Map<String, Integer> endpoints) { this.endpoints = endpoints; }
+
+    public boolean isExposeHeader() { return exposeHeader; }
+    public void setExposeHeader(boolean exposeHeader) { this.exposeHeader = exposeHeader; }
+}
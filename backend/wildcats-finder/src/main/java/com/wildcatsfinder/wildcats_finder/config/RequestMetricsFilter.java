@@ -0,0 +1,47 @@
+package com.wildcatsfinder.wildcats_finder.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Records how many SQL statements each request executed, per URI template
+// (http.server.requests.sql.statements). A jump in this histogram is the usual sign of an N+1 regression.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .description("SQL statements executed per request")
+                    .baseUnit("statements")
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .tag("method", request.getMethod())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1000.0)
+                    .register(meterRegistry)
+                    .record(SqlStatementCounter.current());
+            SqlStatementCounter.clear();
+        }
+    }
+}
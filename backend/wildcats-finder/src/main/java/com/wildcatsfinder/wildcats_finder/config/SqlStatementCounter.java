@@ -0,0 +1,30 @@
+package com.wildcatsfinder.wildcats_finder.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the SQL statements Hibernate prepares on the current thread.
+// RequestMetricsFilter resets the count when a request starts and reads it when the request ends;
+// with one request per (virtual) thread, the count is exactly that request's statements.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    // Drop the per-thread slot once the request is done (matters for pooled platform threads)
+    public static void clear() {
+        COUNT.remove();
+    }
+}
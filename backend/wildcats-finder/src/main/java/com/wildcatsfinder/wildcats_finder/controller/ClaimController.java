@@ -1,19 +1,24 @@
 package com.wildcatsfinder.wildcats_finder.controller;
 
 import com.wildcatsfinder.wildcats_finder.dto.ClaimDTO;
+import com.wildcatsfinder.wildcats_finder.dto.ClaimPageDTO;
 import com.wildcatsfinder.wildcats_finder.entity.ClaimEntity;
 import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
 import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
 import com.wildcatsfinder.wildcats_finder.service.ClaimService;
 import com.wildcatsfinder.wildcats_finder.service.ItemService;
 import com.wildcatsfinder.wildcats_finder.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -21,6 +26,11 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class ClaimController {
 
+    private static final Logger log = LoggerFactory.getLogger(ClaimController.class);
+
+    // Largest page the admin review queue hands out
+    private static final int QUEUE_MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ClaimService claimService;
 
@@ -98,7 +108,7 @@ public class ClaimController {
             return ResponseEntity.ok(responseDTO);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to file claim", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error filing claim: " + e.getMessage());
         }
@@ -173,6 +183,65 @@ public class ClaimController {
         }
     }
 
+    // COUNTS: Claim counts for a batch of item cards in one round trip
+    // GET /api/claims/counts?itemIds=1,2,3 -> {"1": {"itemId": 1, "total": 2, "pending": 1}, ...}
+    @GetMapping("/counts")
+    public ResponseEntity<?> getClaimCounts(@RequestParam List<Long> itemIds) {
+        // One dashboard's worth of cards at most
+        if (itemIds.size() > ItemService.DASHBOARD_ITEM_CAP) {
+            return ResponseEntity.badRequest().body("At most " + ItemService.DASHBOARD_ITEM_CAP + " item IDs per request");
+        }
+        try {
+            return ResponseEntity.ok(claimService.countClaimsByItemIds(itemIds));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error counting claims: " + e.getMessage());
+        }
+    }
+
+    // COUNTS: Claim totals per status and verified flag
+    // GET /api/claims/counts/status
+    @GetMapping("/counts/status")
+    public ResponseEntity<?> getClaimStatusCounts() {
+        try {
+            return ResponseEntity.ok(claimService.getClaimStatusSummary());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error counting claims: " + e.getMessage());
+        }
+    }
+
+    // ADMIN QUEUE: One page of claims to review, with item title and claimant
+    // GET /api/claims/queue?status={status}&page=0&size=20&order=oldest|newest
+    // Without status, unverified claims (verified=false) are listed.
+    @GetMapping("/queue")
+    public ResponseEntity<?> getClaimQueue(
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "false") Boolean verified,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "oldest") String order) {
+        if (page < 0) {
+            return ResponseEntity.badRequest().body("Page must not be negative");
+        }
+        if (!order.equals("oldest") && !order.equals("newest")) {
+            return ResponseEntity.badRequest().body("Order must be oldest or newest");
+        }
+        int pageSize = Math.max(1, Math.min(size, QUEUE_MAX_PAGE_SIZE));
+
+        try {
+            Page<ClaimEntity> claims = claimService.getClaimQueue(status, verified, page, pageSize,
+                    order.equals("newest"));
+            List<ClaimDTO> claimDTOs = claims.getContent().stream()
+                .map(this::convertToQueueDTO)
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(new ClaimPageDTO(claimDTOs, claims.getTotalElements(), page, pageSize));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error loading claim queue: " + e.getMessage());
+        }
+    }
+
     // READ: Get claims by status as DTOs
     @GetMapping("/status/{status}")
     public ResponseEntity<List<ClaimDTO>> getClaimsByStatus(@PathVariable String status) {
@@ -213,8 +282,26 @@ public class ClaimController {
         }
     }
 
+    // PATCH: Change status and/or verified only, e.g. {"status": "APPROVED", "verified": true}
+    // One UPDATE statement, 204 No Content
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchClaim(@PathVariable Long id, @RequestBody ClaimDTO patch) {
+        try {
+            claimService.patchClaim(id, patch.getStatus(), patch.getVerified());
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Claim not found: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error updating claim: " + e.getMessage());
+        }
+    }
+
     // Helper method to convert ClaimEntity to ClaimDTO
-    private ClaimDTO convertToDTO(ClaimEntity claim) {
+    ClaimDTO convertToDTO(ClaimEntity claim) {
         ClaimDTO dto = new ClaimDTO();
         dto.setClaimId(claim.getClaimId());
         dto.setItemId(claim.getItem().getItemId());
@@ -232,6 +319,15 @@ public class ClaimController {
         return dto;
     }
 
+    // Queue rows also carry item and claimant details (loaded by ClaimEntity.QUEUE_GRAPH)
+    private ClaimDTO convertToQueueDTO(ClaimEntity claim) {
+        ClaimDTO dto = convertToDTO(claim);
+        dto.setItemTitle(claim.getItem().getItemTitle());
+        dto.setItemStatus(claim.getItem().getStatus().name());
+        dto.setClaimantUsername(claim.getUser().getUsername());
+        return dto;
+    }
+
     // Backward compatibility endpoint (if needed)
     @PostMapping("/old")
     public ResponseEntity<?> fileClaimOld(@RequestBody ClaimRequest request) {
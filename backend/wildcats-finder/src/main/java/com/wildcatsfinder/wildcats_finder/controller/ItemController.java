@@ -3,7 +3,10 @@ package com.wildcatsfinder.wildcats_finder.controller;
 import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
 import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
 import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import com.wildcatsfinder.wildcats_finder.dto.ItemCardView;
 import com.wildcatsfinder.wildcats_finder.dto.ItemDTO;
+import com.wildcatsfinder.wildcats_finder.dto.ItemFeedDTO;
+import com.wildcatsfinder.wildcats_finder.dto.ItemSearchPageDTO;
 import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
 import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
 import com.wildcatsfinder.wildcats_finder.service.ItemService;
@@ -11,25 +14,38 @@ import com.wildcatsfinder.wildcats_finder.service.UserService;
 import com.wildcatsfinder.wildcats_finder.service.CategoryService;
 import com.wildcatsfinder.wildcats_finder.service.DepartmentService;
 import com.wildcatsfinder.wildcats_finder.service.FileStorageService;
+import com.wildcatsfinder.wildcats_finder.service.ImageVariantService;
+import com.wildcatsfinder.wildcats_finder.service.ItemMatchService;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.persistence.PersistenceContext;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,6 +53,8 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class ItemController {
 
+    private static final Logger log = LoggerFactory.getLogger(ItemController.class);
+
     @Autowired
     private ItemService itemService;
 
@@ -52,6 +70,9 @@ public class ItemController {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private ItemMatchService itemMatchService;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -105,7 +126,8 @@ public class ItemController {
             @RequestParam("categoryId") Long categoryId,
             @RequestParam("departmentId") Long departmentId,
             @RequestParam("dateReport") String dateReport,
-            @RequestParam(value = "image", required = false) MultipartFile image) {
+            @RequestParam(value = "image", required = false) MultipartFile image,
+            @RequestParam(value = "imageFilename", required = false) String imageFilename) {
         
         try {
             // Validate required fields
@@ -130,11 +152,14 @@ public class ItemController {
             CategoryEntity category = categoryService.getCategoryById(categoryId);
             DepartmentEntity department = departmentService.getDepartmentById(departmentId);
             
-            // Handle file upload
+            // Handle file upload: either an image streamed earlier through POST /images, or a multipart part
             String imageUrl = null;
-            if (image != null && !image.isEmpty()) {
+            if (imageFilename != null && !imageFilename.isBlank()) {
+                fileStorageService.resolveFile(imageFilename);
+                imageUrl = FileStorageService.IMAGE_URL_PREFIX + imageFilename;
+            } else if (image != null && !image.isEmpty()) {
                 String filename = fileStorageService.storeFile(image);
-                imageUrl = "/api/items/images/" + filename;
+                imageUrl = FileStorageService.IMAGE_URL_PREFIX + filename;
             }
             
             // Create item
@@ -160,20 +185,72 @@ public class ItemController {
             ItemEntity savedItem = itemService.createItem(item);
             return ResponseEntity.ok(new ItemDTO(savedItem));
             
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.badRequest().body("Uploaded image not found: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error reporting item: " + e.getMessage());
         }
     }
 
-    // Serve uploaded images
+    // UPLOAD: Stream a raw image body (Content-Type image/*) straight to storage.
+    // Returns the stored filename, which /report accepts as "imageFilename"; this skips multipart buffering.
+    @PostMapping("/images")
+    public ResponseEntity<?> uploadImage(HttpServletRequest request) {
+        long maxUploadSize = fileStorageService.getMaxUploadSize();
+        if (request.getContentLengthLong() > maxUploadSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("File exceeds the maximum upload size of " + maxUploadSize + " bytes");
+        }
+
+        try {
+            String filename = fileStorageService.storeStream(request.getInputStream());
+            Map<String, String> response = new HashMap<>();
+            response.put("filename", filename);
+            response.put("imageUrl", FileStorageService.IMAGE_URL_PREFIX + filename);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error uploading image: " + e.getMessage());
+        }
+    }
+
+    // Serve uploaded images, optionally as a downscaled variant (?size=thumb|medium). Images that are already
+    // small, and formats without variants, are served as uploaded for every size.
+    // The file is streamed, never buffered whole. Spring answers If-None-Match/If-Modified-Since with 304
+    // and Range requests with 206 from the headers below. Upload names never change, so clients may cache forever.
     @GetMapping("/images/{filename}")
-    public ResponseEntity<byte[]> getImage(@PathVariable String filename) {
+    public ResponseEntity<Resource> getImage(@PathVariable String filename,
+                                             @RequestParam(required = false) String size) {
         try {
-            byte[] imageBytes = fileStorageService.loadFile(filename);
+            Path file = fileStorageService.resolveFile(filename);
+            CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+            ImageVariantService.Size variantSize = ImageVariantService.Size.fromParameter(size);
+            if (variantSize != null) {
+                Path variant = fileStorageService.resolveVariant(filename, variantSize);
+                if (variant != null) {
+                    file = variant;
+                } else {
+                    // Variant still pending: serve the original, but don't let clients pin it to this URL
+                    cacheControl = CacheControl.noCache();
+                }
+            }
+
+            String servedName = file.getFileName().toString();
+            MediaType contentType = MediaTypeFactory.getMediaType(servedName)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
             return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_JPEG)
-                    .body(imageBytes);
+                    .contentType(contentType)
+                    .eTag(fileStorageService.getContentHash(servedName))
+                    .lastModified(Files.getLastModifiedTime(file).toMillis())
+                    .cacheControl(cacheControl)
+                    .body(fileStorageService.openResource(file));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -188,97 +265,91 @@ public class ItemController {
                 return ResponseEntity.badRequest().body("User ID is required");
             }
             
-            ItemEntity item = itemService.getItemById(id);
-            
-            // Check if item is FOUND
-            if (item.getStatus() != ItemStatus.FOUND) {
-                return ResponseEntity.badRequest().body("Only FOUND items can be claimed");
-            }
-            
-            // Check if user is claiming their own item
-            if (item.getUser().getUserId().equals(claimantId)) {
-                return ResponseEntity.badRequest().body("You cannot claim your own item");
-            }
-            
-            // Update status to CLAIMED
-            item.setStatus(ItemStatus.CLAIMED);
-            itemService.updateItem(id, item);
+            // Status check and update happen in one conditional UPDATE, so only one claimant can win
+            itemService.claimItem(id, claimantId);
             
             return ResponseEntity.ok("Claim request submitted successfully");
             
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Item not found: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            // Not FOUND (any more), e.g. another claimant was first
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error claiming item: " + e.getMessage());
         }
     }
 
-    // READ: Get all items for dashboard
+    // READ: Get the newest items for dashboard (capped, prefer /feed)
     @GetMapping
     public ResponseEntity<List<ItemEntity>> getAllItems() {
         try {
-            System.out.println("=== GET ALL ITEMS ENDPOINT CALLED ===");
-            System.out.println("Calling itemService.getAllItemsForDashboard()...");
-            
             List<ItemEntity> items = itemService.getAllItemsForDashboard();
-            
-            System.out.println("Service returned: " + (items != null ? items.size() : "null") + " items");
-            
-            if (items != null && !items.isEmpty()) {
-                System.out.println("First 3 items:");
-                for (int i = 0; i < Math.min(3, items.size()); i++) {
-                    ItemEntity item = items.get(i);
-                    System.out.println("  Item " + (i+1) + ":");
-                    System.out.println("    ID: " + item.getItemId());
-                    System.out.println("    Title: " + item.getItemTitle());
-                    System.out.println("    Status: " + item.getStatus());
-                    System.out.println("    Location: " + item.getLocation());
-                    System.out.println("    User: " + (item.getUser() != null ? item.getUser().getUserId() : "null"));
-                    System.out.println("    Category: " + (item.getCategory() != null ? item.getCategory().getCategoryName() : "null"));
-                }
-            } else {
-                System.out.println("Items list is empty or null!");
-            }
-            
+            log.debug("Dashboard returned {} items", items.size());
+
             return ResponseEntity.ok(items);
         } catch (Exception e) {
-            System.out.println("ERROR in getAllItems: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Failed to load dashboard items", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    // FEED: Keyset-paginated dashboard feed, newest first
+    // GET /api/items/feed?after={dateReport},{itemId}&limit={n}
+    @GetMapping("/feed")
+    public ResponseEntity<?> getItemFeed(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = ItemService.FEED_DEFAULT_LIMIT;
+        if (limit != null) {
+            pageSize = Math.max(1, Math.min(limit, ItemService.FEED_MAX_LIMIT));
+        }
+
+        // Parse the cursor "dateReport,itemId" handed out by the previous page
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        if (after != null && !after.trim().isEmpty()) {
+            int comma = after.lastIndexOf(',');
+            if (comma <= 0) {
+                return ResponseEntity.badRequest().body("Invalid cursor. Use dateReport,itemId");
+            }
+            try {
+                afterDate = LocalDateTime.parse(after.substring(0, comma).trim());
+                afterId = Long.parseLong(after.substring(comma + 1).trim());
+            } catch (DateTimeParseException | NumberFormatException e) {
+                return ResponseEntity.badRequest().body("Invalid cursor. Use dateReport,itemId");
+            }
+        }
+
+        try {
+            // Fetch one extra row to find out whether another page exists
+            List<ItemEntity> items = itemService.getItemFeed(afterDate, afterId, pageSize + 1);
+            boolean hasMore = items.size() > pageSize;
+            if (hasMore) {
+                items = items.subList(0, pageSize);
+            }
+            String nextCursor = hasMore ? ItemFeedDTO.cursorOf(items.get(items.size() - 1)) : null;
+            return ResponseEntity.ok(new ItemFeedDTO(items, nextCursor, hasMore));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error loading item feed: " + e.getMessage());
+        }
+    }
+
     // SIMPLE: Get items with basic info only (no circular references)
     @GetMapping("/simple")
-    public ResponseEntity<List<Map<String, Object>>> getSimpleItems() {
+    public ResponseEntity<List<ItemCardView>> getSimpleItems() {
         try {
-            System.out.println("=== GET SIMPLE ITEMS ===");
-            
-            List<ItemEntity> items = itemService.getAllItemsForDashboard();
-            System.out.println("Found " + items.size() + " items in database");
-            
-            List<Map<String, Object>> simpleItems = new ArrayList<>();
-            
-            for (ItemEntity item : items) {
-                Map<String, Object> map = new HashMap<>();
-                map.put("itemId", item.getItemId());
-                map.put("itemTitle", item.getItemTitle());
-                map.put("itemDesc", item.getItemDesc());
-                map.put("status", item.getStatus() != null ? item.getStatus().toString() : null);
-                map.put("location", item.getLocation());
-                map.put("dateReport", item.getDateReport());
-                map.put("imageUrl", item.getImageUrl());
-                map.put("userId", item.getUser() != null ? item.getUser().getUserId() : null);
-                map.put("categoryName", item.getCategory() != null ? item.getCategory().getCategoryName() : null);
-                map.put("departmentName", item.getDepartment() != null ? item.getDepartment().getDepName() : null);
-                simpleItems.add(map);
-            }
-            
-            System.out.println("Returning " + simpleItems.size() + " simple items");
+            List<ItemCardView> simpleItems = itemService.getItemCardsForDashboard();
+            log.debug("Returning {} simple items", simpleItems.size());
             return ResponseEntity.ok(simpleItems);
             
         } catch (Exception e) {
-            System.out.println("Error in simple endpoint: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Failed to load simple items", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
@@ -287,14 +358,12 @@ public class ItemController {
     @GetMapping("/test-raw")
     public ResponseEntity<?> getRawItems() {
         try {
-            System.out.println("=== TEST RAW ENDPOINT ===");
-            
             // Direct database query
             List<Object[]> results = entityManager.createNativeQuery(
                 "SELECT item_id, item_title, status, location, user_id FROM items LIMIT 10"
             ).getResultList();
             
-            System.out.println("Raw SQL query returned " + results.size() + " rows");
+            log.debug("Raw SQL query returned {} rows", results.size());
             
             List<Map<String, Object>> items = new ArrayList<>();
             for (Object[] row : results) {
@@ -305,14 +374,12 @@ public class ItemController {
                 item.put("location", row[3]);
                 item.put("userId", row[4]);
                 items.add(item);
-                System.out.println("Row: " + Arrays.toString(row));
             }
             
             return ResponseEntity.ok(items);
             
         } catch (Exception e) {
-            System.out.println("Error in raw test: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Raw item query failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error: " + e.getMessage());
         }
@@ -320,9 +387,9 @@ public class ItemController {
 
     // READ: Get items by status
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ItemEntity>> getItemsByStatus(@PathVariable ItemStatus status) {
+    public ResponseEntity<List<ItemCardView>> getItemsByStatus(@PathVariable ItemStatus status) {
         try {
-            List<ItemEntity> items = itemService.getItemsByStatus(status);
+            List<ItemCardView> items = itemService.getItemCardsByStatus(status);
             return ResponseEntity.ok(items);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
@@ -330,12 +397,12 @@ public class ItemController {
     }
     
     @GetMapping("/lost")
-    public ResponseEntity<List<ItemEntity>> getLostItems() {
+    public ResponseEntity<List<ItemCardView>> getLostItems() {
         return getItemsByStatus(ItemStatus.LOST);
     }
 
     @GetMapping("/found")
-    public ResponseEntity<List<ItemEntity>> getFoundItems() {
+    public ResponseEntity<List<ItemCardView>> getFoundItems() {
         return getItemsByStatus(ItemStatus.FOUND);
     }
 
@@ -351,6 +418,19 @@ public class ItemController {
         }
     }
 
+    // READ: Likely counterparts of a LOST or FOUND report, best first
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<?> getItemMatches(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(itemMatchService.getMatches(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Item not found: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to load matches of item {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error loading matches: " + e.getMessage());
+        }
+    }
+
     // READ: Get items by user
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<ItemEntity>> getItemsByUserId(@PathVariable Long userId) {
@@ -384,19 +464,65 @@ public class ItemController {
         }
     }
 
-    // SEARCH: Search items by title or location
+    // SEARCH: Ranked search by keywords (q, any field), title and/or location
+    // GET /api/items/search?q={q}&title={title}&location={location}
     @GetMapping("/search")
     public ResponseEntity<List<ItemEntity>> searchItems(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String location) {
         try {
-            List<ItemEntity> items = itemService.searchItems(title, location);
+            List<ItemEntity> items = itemService.searchItems(q, title, location);
             return ResponseEntity.ok(items);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    // QUERY: Combined search with filters, relevance ranking and pagination
+    // GET /api/items/query?q=&title=&location=&status=&categoryId=&departmentId=&from=yyyy-MM-dd&to=yyyy-MM-dd&page=0&size=20
+    @GetMapping("/query")
+    public ResponseEntity<?> queryItems(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) ItemStatus status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0) {
+            return ResponseEntity.badRequest().body("Page must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(size, ItemService.FEED_MAX_LIMIT));
+
+        // Both dates are inclusive days (yyyy-MM-dd)
+        LocalDateTime fromDate = null;
+        LocalDateTime toDate = null;
+        try {
+            if (from != null && !from.isEmpty()) {
+                fromDate = LocalDate.parse(from).atStartOfDay();
+            }
+            if (to != null && !to.isEmpty()) {
+                toDate = LocalDate.parse(to).plusDays(1).atStartOfDay();
+            }
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid date format. Use yyyy-MM-dd");
+        }
+
+        try {
+            ItemSearchIndex.Query query = new ItemSearchIndex.Query(q, title, location, status,
+                    categoryId, departmentId, fromDate, toDate);
+            ItemSearchPageDTO result = itemService.queryItems(query, page, pageSize);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error searching items: " + e.getMessage());
+        }
+    }
+
     // UPDATE: Update item status
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateItemStatus(@PathVariable Long id, @RequestBody ItemStatus newStatus) {
@@ -415,6 +541,12 @@ public class ItemController {
         try {
             // Get existing item
             ItemEntity existingItem = itemService.getItemById(id);
+
+            // Reject edits made against an older version of the item instead of overwriting the newer one
+            if (itemDTO.getVersion() != null && itemDTO.getVersion() != existingItem.getVersion()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body("Item was changed by someone else. Reload it and try again");
+            }
             
             // Validate required fields from DTO
             if (itemDTO.getItemTitle() == null || itemDTO.getItemTitle().trim().isEmpty()) {
@@ -433,20 +565,25 @@ public class ItemController {
                 return ResponseEntity.badRequest().body("Department ID is required");
             }
 
-            // Get related entities
-            UserEntity user = userService.getUserById(itemDTO.getUserId());
+            // Get related entities; the reporter is only looked up when it changes
+            UserEntity user = itemDTO.getUserId().equals(existingItem.getUserId())
+                    ? existingItem.getUser()
+                    : userService.getUserById(itemDTO.getUserId());
             CategoryEntity category = categoryService.getCategoryById(itemDTO.getCategoryId());
             DepartmentEntity department = departmentService.getDepartmentById(itemDTO.getDepartmentId());
 
-            // Update fields from DTO
-            existingItem.setItemTitle(itemDTO.getItemTitle());
-            existingItem.setItemDesc(itemDTO.getItemDesc());
-            existingItem.setLocation(itemDTO.getLocation());
-            existingItem.setImageUrl(itemDTO.getImageUrl());
+            // New values go into a detached copy: the managed item stays as loaded, so the service still
+            // sees the previous values (e.g. the image to release) when it applies them
+            ItemEntity details = new ItemEntity();
+            details.setItemTitle(itemDTO.getItemTitle());
+            details.setItemDesc(itemDTO.getItemDesc());
+            details.setLocation(itemDTO.getLocation());
+            details.setImageUrl(itemDTO.getImageUrl());
+            details.setDateReport(existingItem.getDateReport());
             
             // Handle status conversion from String to ItemStatus enum
             try {
-                existingItem.setStatus(ItemStatus.valueOf(itemDTO.getStatus()));
+                details.setStatus(ItemStatus.valueOf(itemDTO.getStatus()));
             } catch (IllegalArgumentException e) {
                 return ResponseEntity.badRequest().body("Invalid status value: " + itemDTO.getStatus());
             }
@@ -456,18 +593,18 @@ public class ItemController {
                 try {
                     LocalDate localDate = LocalDate.parse(itemDTO.getDateReport());
                     LocalDateTime dateTime = localDate.atStartOfDay();
-                    existingItem.setDateReport(dateTime);
+                    details.setDateReport(dateTime);
                 } catch (DateTimeParseException e) {
                     return ResponseEntity.badRequest().body("Invalid date format. Use yyyy-MM-dd");
                 }
             }
             
-            existingItem.setUser(user);
-            existingItem.setCategory(category);
-            existingItem.setDepartment(department);
+            details.setUser(user);
+            details.setCategory(category);
+            details.setDepartment(department);
 
             // Save updated item
-            ItemEntity updatedItem = itemService.updateItem(id, existingItem);
+            ItemEntity updatedItem = itemService.updateItem(id, details);
             
             // Return as DTO to avoid serialization issues
             return ResponseEntity.ok(new ItemDTO(updatedItem));
@@ -475,6 +612,31 @@ public class ItemController {
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Item not found: " + e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            // A concurrent update committed between our read and our write
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Item was changed by someone else. Reload it and try again");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error updating item: " + e.getMessage());
+        }
+    }
+
+    // PATCH: Update only the fields sent (same names as ItemDTO; missing or null = unchanged)
+    // PATCH /api/items/{id} {"status": "RETURNED"} -> one UPDATE statement, 204 No Content
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchItem(@PathVariable Long id, @RequestBody ItemDTO patch) {
+        try {
+            itemService.patchItem(id, patch);
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("Item not found: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Item was changed by someone else. Reload it and try again");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error updating item: " + e.getMessage());
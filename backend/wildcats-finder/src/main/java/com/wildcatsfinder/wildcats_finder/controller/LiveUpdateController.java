@@ -0,0 +1,50 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.wildcatsfinder.wildcats_finder.service.LiveUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*") // For React frontend
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    // STREAM: Server-sent item and claim events, instead of polling the item and claim lists
+    // GET /api/events/stream?types=item-created,claim-filed&status=LOST&categoryId=1&departmentId=2
+    // status is the item status for item events and the claim status for claim events.
+    // 400 for an unknown event type.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestParam(required = false) String types,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Set<String> eventTypes = new LinkedHashSet<>();
+        if (types != null) {
+            for (String type : types.split(",")) {
+                String trimmed = type.trim().toLowerCase();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                if (!LiveUpdateService.EVENT_TYPES.contains(trimmed)) {
+                    return ResponseEntity.badRequest().build();
+                }
+                eventTypes.add(trimmed);
+            }
+        }
+        String statusFilter = status != null && !status.isBlank() ? status.trim() : null;
+
+        LiveUpdateService.Filter filter = new LiveUpdateService.Filter(eventTypes, statusFilter, categoryId, departmentId);
+        return ResponseEntity.ok(liveUpdateService.subscribe(filter, lastEventId));
+    }
+}
@@ -0,0 +1,42 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.wildcatsfinder.wildcats_finder.service.RematchJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/matches")
+@CrossOrigin(origins = "*") // For React frontend
+public class MatchController {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchController.class);
+
+    @Autowired
+    private RematchJob rematchJob;
+
+    // ADMIN: Re-score every open LOST/FOUND item in the background
+    // POST /api/matches/rematch -> 202 with the job progress, 409 while a run is in progress
+    @PostMapping("/rematch")
+    public ResponseEntity<?> startRematch() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(rematchJob.start());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to start rematch", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error starting rematch: " + e.getMessage());
+        }
+    }
+
+    // READ: Progress of the current or last rematch run
+    // GET /api/matches/rematch
+    @GetMapping("/rematch")
+    public ResponseEntity<RematchJob.Progress> getRematchProgress() {
+        return ResponseEntity.ok(rematchJob.getProgress());
+    }
+}
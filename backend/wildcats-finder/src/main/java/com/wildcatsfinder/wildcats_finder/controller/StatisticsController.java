@@ -0,0 +1,29 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.wildcatsfinder.wildcats_finder.service.StatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*") // For React frontend
+public class StatisticsController {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    // READ: Dashboard totals - items per status/category/department, claims per status
+    // GET /api/stats (served from in-memory counters, no database query)
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        try {
+            return ResponseEntity.ok(statisticsService.getStatistics());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
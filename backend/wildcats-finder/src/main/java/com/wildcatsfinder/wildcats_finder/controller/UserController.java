@@ -6,8 +6,9 @@ import com.wildcatsfinder.wildcats_finder.dto.UserDTO;
 import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
 import com.wildcatsfinder.wildcats_finder.service.UserService;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,8 @@ import java.util.List;
 @CrossOrigin(origins = "*") // For React frontend
 public class UserController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
     @Autowired
     private UserService userService;
 
@@ -151,10 +154,7 @@ public class UserController {
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody UserRegistrationRequest request) {        
         try {
-            System.out.println("=== DEBUG: Registration Request ===");
-            System.out.println("Username: " + request.getUsername());
-            System.out.println("Email: " + request.getEmail());
-            System.out.println("Role from request: '" + request.getRole() + "'");
+            log.debug("Registration request: username={}, role={}", request.getUsername(), request.getRole());
             
             // validation
             if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
@@ -195,35 +195,29 @@ public class UserController {
 
             // Determine role based on email domain
             String role = request.getRole();
-            System.out.println("Role from frontend: '" + role + "'");
             
             if (role == null || role.trim().isEmpty()) {
                 // Auto-detect role based on email domain
                 if (request.getUsername().contains("@wildcatsf.com") || 
                     request.getEmail().contains("@wildcatsf.com")) {
                     role = "ADMIN";
-                    System.out.println("Auto-detected role: ADMIN (wildcatsf.com domain)");
                 } else {
                     role = "USER";
-                    System.out.println("Auto-detected role: USER");
                 }
             }
             
             user.setRole(role);
-            System.out.println("Final role being set: " + user.getRole());
 
             // Register user
             UserEntity savedUser = userService.registerUser(user);
 
             // return data without password 
             savedUser.setPassword(null);
-            System.out.println("User registered successfully with role: " + savedUser.getRole());
-            System.out.println("================================");
+            log.info("Registered user {} with role {}", savedUser.getUserId(), savedUser.getRole());
             return ResponseEntity.ok(savedUser);
 
         } catch (Exception e) {
-            System.out.println("Registration error: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Registration failed for username {}", request.getUsername(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error registering user: " + e.getMessage());
         }
@@ -288,8 +282,7 @@ public class UserController {
     @PostMapping("/login")
     public ResponseEntity<?> loginUser(@RequestBody UserLoginRequest request) {
         try {
-            System.out.println("\n=== CONTROLLER DEBUG - loginUser ===");
-            System.out.println("Login attempt for username: " + request.getUsername());
+            log.debug("Login attempt for username {}", request.getUsername());
             
             if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Username is required"));
@@ -301,12 +294,6 @@ public class UserController {
             // Authenticate
             UserEntity user = userService.loginUser(request.getUsername(), request.getPassword());
             
-            System.out.println("User entity received from service:");
-            System.out.println("  fName: '" + user.getFName() + "'");
-            System.out.println("  mName: '" + user.getMName() + "'");
-            System.out.println("  lName: '" + user.getLName() + "'");
-            System.out.println("  Role: '" + user.getRole() + "'");
-
             // Map reported items to DTO
             List<ItemDTO> itemDTOs = user.getReportedItems()
                                          .stream()
@@ -326,23 +313,13 @@ public class UserController {
                 itemDTOs
             );
 
-            System.out.println("UserDTO created:");
-            System.out.println("  DTO fName: '" + userDTO.getFName() + "'");
-            System.out.println("  DTO mName: '" + userDTO.getMName() + "'");
-            System.out.println("  DTO lName: '" + userDTO.getLName() + "'");
-            System.out.println("  DTO Role: '" + userDTO.getRole() + "'");
-            
-            // Also print the entire DTO as JSON
-            ObjectMapper mapper = new ObjectMapper();
-            String json = mapper.writeValueAsString(userDTO);
-            System.out.println("Full DTO JSON: " + json);
-            System.out.println("=== END DEBUG ===\n");
+            log.debug("Login succeeded for user {} (role {}, {} reported items)",
+                    user.getUserId(), userDTO.getRole(), itemDTOs.size());
 
             return ResponseEntity.ok(userDTO);
 
         } catch (Exception e) {
-            System.out.println("Login error: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Login failed for username {}: {}", request.getUsername(), e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                  .body(Map.of("error", "Nope!, Please try again"));
         }
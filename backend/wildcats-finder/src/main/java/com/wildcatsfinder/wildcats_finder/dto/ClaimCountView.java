@@ -0,0 +1,9 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+// Claim counts of one item, computed with COUNT/GROUP BY by ClaimRepository.
+// pending = claims not verified yet.
+public record ClaimCountView(
+        Long itemId,
+        Long total,
+        Long pending) {
+}
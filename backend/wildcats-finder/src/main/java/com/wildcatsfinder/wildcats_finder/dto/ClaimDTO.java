@@ -1,5 +1,7 @@
 package com.wildcatsfinder.wildcats_finder.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class ClaimDTO {
     private Long claimId;
     private Long itemId;
@@ -8,6 +10,14 @@ public class ClaimDTO {
     private String claimDate;
     private String status;
     private Boolean verified;
+
+    // Review queue only: what the admin needs to judge a claim without loading the item and user separately
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String itemTitle;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String itemStatus;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String claimantUsername;
     
     // Constructors
     public ClaimDTO() {}
@@ -41,4 +51,13 @@ public class ClaimDTO {
     
     public Boolean getVerified() { return verified; }
     public void setVerified(Boolean verified) { this.verified = verified; }
+
+    public String getItemTitle() { return itemTitle; }
+    public void setItemTitle(String itemTitle) { this.itemTitle = itemTitle; }
+
+    public String getItemStatus() { return itemStatus; }
+    public void setItemStatus(String itemStatus) { this.itemStatus = itemStatus; }
+
+    public String getClaimantUsername() { return claimantUsername; }
+    public void setClaimantUsername(String claimantUsername) { this.claimantUsername = claimantUsername; }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+import java.util.List;
+
+// One page of the admin claim review queue
+public class ClaimPageDTO {
+    private List<ClaimDTO> claims;
+    private long total; // number of matching claims across all pages
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public ClaimPageDTO() {}
+
+    public ClaimPageDTO(List<ClaimDTO> claims, long total, int page, int size) {
+        this.claims = claims;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.hasMore = (long) (page + 1) * size < total;
+    }
+
+    // Getters and setters
+    public List<ClaimDTO> getClaims() { return claims; }
+    public void setClaims(List<ClaimDTO> claims) { this.claims = claims; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,8 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+// Number of claims with one status/verified combination (GROUP BY status, verified)
+public record ClaimStatusCount(
+        String status,
+        Boolean verified,
+        Long count) {
+}
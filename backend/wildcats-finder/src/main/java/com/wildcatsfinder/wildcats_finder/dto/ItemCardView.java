@@ -0,0 +1,19 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import java.time.LocalDateTime;
+
+// Read-only item card, selected column by column by ItemRepository (no managed entity behind it).
+// Field names match the JSON of ItemEntity, so list endpoints can switch to it transparently.
+public record ItemCardView(
+        Long itemId,
+        String itemTitle,
+        String itemDesc,
+        ItemStatus status,
+        String location,
+        LocalDateTime dateReport,
+        String imageUrl,
+        Long userId,
+        String categoryName,
+        String departmentName) {
+}
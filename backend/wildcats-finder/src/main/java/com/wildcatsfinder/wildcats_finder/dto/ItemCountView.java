@@ -0,0 +1,11 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+
+// Number of items with one status/category/department combination (GROUP BY in ItemRepository)
+public record ItemCountView(
+        ItemStatus status,
+        Long categoryId,
+        Long departmentId,
+        Long count) {
+}
@@ -17,6 +17,7 @@ public class ItemDTO {
     private Long departmentId;
     private String categoryName; // Add this for frontend display
     private String depName; // Add this for frontend display
+    private Long version; // Version the client edited; optional, a stale one is rejected on update
 
     public ItemDTO() {}
 
@@ -31,6 +32,7 @@ public class ItemDTO {
         this.categoryId = item.getCategory().getCategoryId();
         this.departmentId = item.getDepartment().getDepId();
         this.imageUrl = item.getImageUrl();
+        this.version = item.getVersion();
         
         // Convert LocalDate to String for JSON
         if (item.getDateReport() != null) {
@@ -78,4 +80,7 @@ public class ItemDTO {
 
     public String getDepName() { return depName; }
     public void setDepName(String depName) { this.depName = depName; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
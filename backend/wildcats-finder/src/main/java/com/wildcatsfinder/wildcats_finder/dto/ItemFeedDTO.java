@@ -0,0 +1,34 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import java.util.List;
+
+// One page of the dashboard feed plus the cursor for the next page
+public class ItemFeedDTO {
+    private List<ItemEntity> items;
+    private String nextCursor; // "dateReport,itemId" of the last item, null when there are no more pages
+    private boolean hasMore;
+
+    public ItemFeedDTO() {}
+
+    public ItemFeedDTO(List<ItemEntity> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Build the cursor that points just past the given item
+    public static String cursorOf(ItemEntity item) {
+        return item.getDateReport() + "," + item.getItemId();
+    }
+
+    // Getters and setters
+    public List<ItemEntity> getItems() { return items; }
+    public void setItems(List<ItemEntity> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,17 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import java.time.LocalDateTime;
+
+// The other side of a stored LOST/FOUND match, selected column by column by ItemMatchRepository
+public record ItemMatchView(
+        Long itemId,
+        String itemTitle,
+        ItemStatus status,
+        String location,
+        LocalDateTime dateReport,
+        String imageUrl,
+        String departmentName,
+        double score,
+        LocalDateTime matchedAt) {
+}
@@ -0,0 +1,58 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import java.util.List;
+
+// One page of ranked search results
+public class ItemSearchPageDTO {
+    private List<Result> results;
+    private long total; // number of matching items across all pages
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    // A matching item and its relevance score (higher is better)
+    public static class Result {
+        private ItemEntity item;
+        private int score;
+
+        public Result() {}
+
+        public Result(ItemEntity item, int score) {
+            this.item = item;
+            this.score = score;
+        }
+
+        public ItemEntity getItem() { return item; }
+        public void setItem(ItemEntity item) { this.item = item; }
+
+        public int getScore() { return score; }
+        public void setScore(int score) { this.score = score; }
+    }
+
+    public ItemSearchPageDTO() {}
+
+    public ItemSearchPageDTO(List<Result> results, long total, int page, int size) {
+        this.results = results;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.hasMore = ((long) page + 1) * size < total;
+    }
+
+    // Getters and setters
+    public List<Result> getResults() { return results; }
+    public void setResults(List<Result> results) { this.results = results; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,22 @@
+package com.wildcatsfinder.wildcats_finder.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+
+// Data of one server-sent event (GET /api/events/stream). status is the item status for item events
+// and the claim status for claim events; the item fields come from the search index.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LiveEventDTO(
+        long id,
+        String type,
+        Long itemId,
+        Long claimId,
+        String status,
+        String itemTitle,
+        String location,
+        Long categoryId,
+        String categoryName,
+        Long departmentId,
+        String departmentName,
+        LocalDateTime at) {
+}
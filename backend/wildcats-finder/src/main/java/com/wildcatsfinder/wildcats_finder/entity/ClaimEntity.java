@@ -1,12 +1,27 @@
 package com.wildcatsfinder.wildcats_finder.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "claims")
+// Only changed columns go into the UPDATE (approve/reject touch status, verified and version)
+@DynamicUpdate
+@NamedEntityGraph(name = ClaimEntity.QUEUE_GRAPH, attributeNodes = {
+        @NamedAttributeNode("item"),
+        @NamedAttributeNode("user")
+})
+@Table(name = "claims", indexes = {
+        // Admin review queue: filter on verified or status, oldest (or newest) first
+        @Index(name = "idx_claims_verified_claim_date", columnList = "verified, claim_date"),
+        @Index(name = "idx_claims_status_claim_date", columnList = "status, claim_date")
+})
 public class ClaimEntity {
 
+    // Entity graph for the admin queue: the claimed item and the claimant, loaded in the same SELECT
+    public static final String QUEUE_GRAPH = "ClaimEntity.queue";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "claim_id")
@@ -25,6 +40,12 @@ public class ClaimEntity {
     @Column(name = "verification_answer", columnDefinition = "TEXT")
     private String verificationAnswer;
 
+    // Optimistic lock, so two admins approving/rejecting the same claim cannot silently overwrite each other
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Foreign Key Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
@@ -91,6 +112,14 @@ public class ClaimEntity {
         this.verificationAnswer = verificationAnswer;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public ItemEntity getItem() {
         return item;
     }
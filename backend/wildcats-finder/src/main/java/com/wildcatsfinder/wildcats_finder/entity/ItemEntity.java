@@ -1,15 +1,29 @@
 package com.wildcatsfinder.wildcats_finder.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
-@Table(name = "items")
+// UPDATEs only list the columns that changed, e.g. a status flip writes status and version only
+@DynamicUpdate
+@NamedEntityGraph(name = ItemEntity.CARD_GRAPH, attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("department")
+})
+@Table(name = "items", indexes = {
+        // Backs the keyset-paginated dashboard feed (ORDER BY date_report DESC, item_id DESC)
+        @Index(name = "idx_items_date_report_item_id", columnList = "date_report, item_id")
+})
 public class ItemEntity {
 
+    // Entity graph for list endpoints: everything an item card shows (categoryName, departmentName)
+    public static final String CARD_GRAPH = "ItemEntity.card";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "item_id")
@@ -34,6 +48,13 @@ public class ItemEntity {
     @Column(name = "status", nullable = false)
     private ItemStatus status;
 
+    // Optimistic lock: an UPDATE from a stale copy of the row fails instead of overwriting a concurrent change.
+    // The column default keeps existing rows and plain JDBC inserts valid.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Relationships - FIXED FOR JSON SERIALIZATION
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -149,6 +170,14 @@ public class ItemEntity {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public UserEntity getUser() {
         return user;
     }
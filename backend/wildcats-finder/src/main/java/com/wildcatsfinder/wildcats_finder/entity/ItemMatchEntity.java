@@ -0,0 +1,88 @@
+package com.wildcatsfinder.wildcats_finder.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.time.LocalDateTime;
+
+// One entry of an item's top-k list: a LOST or FOUND item and one of its best-scoring counterparts, proposed by
+// ItemMatchService. Every item owns its own rows, so a pair may be stored twice (once in each item's list).
+// Rows are written with plain JDBC; the entity is only mapped for the schema and for reads.
+@Entity
+@Table(name = "item_matches", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_item_matches_item_candidate", columnNames = {"item_id", "candidate_id"})
+}, indexes = {
+        // Matches of one item, best first
+        @Index(name = "idx_item_matches_item_score", columnList = "item_id, score"),
+        @Index(name = "idx_item_matches_candidate", columnList = "candidate_id")
+})
+public class ItemMatchEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "match_id")
+    private Long matchId;
+
+    // Deleting an item (directly or through its category, department or user) drops its matches in the database
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ItemEntity item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "candidate_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ItemEntity candidate;
+
+    // 0..1, see MatchScorer
+    @Column(name = "score", nullable = false)
+    private double score;
+
+    @Column(name = "matched_at", nullable = false)
+    private LocalDateTime matchedAt;
+
+    // Constructors
+    public ItemMatchEntity() {
+    }
+
+    // Getters and Setters
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public ItemEntity getItem() {
+        return item;
+    }
+
+    public void setItem(ItemEntity item) {
+        this.item = item;
+    }
+
+    public ItemEntity getCandidate() {
+        return candidate;
+    }
+
+    public void setCandidate(ItemEntity candidate) {
+        this.candidate = candidate;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getMatchedAt() {
+        return matchedAt;
+    }
+
+    public void setMatchedAt(LocalDateTime matchedAt) {
+        this.matchedAt = matchedAt;
+    }
+}
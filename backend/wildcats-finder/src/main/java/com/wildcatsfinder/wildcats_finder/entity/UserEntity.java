@@ -3,6 +3,7 @@ package com.wildcatsfinder.wildcats_finder.entity;
 import jakarta.persistence.*;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -49,6 +50,7 @@ public class UserEntity {
 
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonIgnore // Claims are served by /api/claims/user/{userId}
     private List<ClaimEntity> claims;
 
     // Constructors - Make sure default constructor doesn't set role
@@ -1,10 +1,22 @@
 package com.wildcatsfinder.wildcats_finder.repository;
 
+import com.wildcatsfinder.wildcats_finder.dto.ClaimCountView;
+import com.wildcatsfinder.wildcats_finder.dto.ClaimStatusCount;
 import com.wildcatsfinder.wildcats_finder.entity.ClaimEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ClaimRepository extends JpaRepository<ClaimEntity, Long> {
@@ -17,4 +29,67 @@ public interface ClaimRepository extends JpaRepository<ClaimEntity, Long> {
 
     // Admin - pending claims
     List<ClaimEntity> findByVerified(Boolean verified);
+
+    // Filtering by status in SQL (idx_claims_status_claim_date)
+    List<ClaimEntity> findByStatus(String status);
+
+    List<ClaimEntity> findByUser_UserIdAndStatus(Long userId, String status);
+
+    // Admin review queue - pages sorted on claimDate, with item and claimant (ClaimEntity.QUEUE_GRAPH).
+    // Backed by idx_claims_verified_claim_date / idx_claims_status_claim_date.
+    @EntityGraph(ClaimEntity.QUEUE_GRAPH)
+    List<ClaimEntity> findByVerifiedOrderByClaimDateAscClaimIdAsc(Boolean verified);
+
+    @EntityGraph(ClaimEntity.QUEUE_GRAPH)
+    Page<ClaimEntity> findByVerified(Boolean verified, Pageable pageable);
+
+    @EntityGraph(ClaimEntity.QUEUE_GRAPH)
+    Page<ClaimEntity> findByStatus(String status, Pageable pageable);
+
+    // The claimed item's id only, for claim events raised by targeted updates
+    @Query("SELECT c.item.itemId FROM ClaimEntity c WHERE c.claimId = :claimId")
+    Optional<Long> findItemIdByClaimId(@Param("claimId") Long claimId);
+
+    // Status read for a status change, with the row locked until the change commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.status FROM ClaimEntity c WHERE c.claimId = :claimId")
+    Optional<String> findStatusForUpdate(@Param("claimId") Long claimId);
+
+    // Aggregates, counted by the database instead of loading claim entities
+
+    long countByItem_ItemId(Long itemId);
+
+    // Claim counts per item for a batch of items; items without claims are absent from the result
+    @Query("SELECT new com.wildcatsfinder.wildcats_finder.dto.ClaimCountView("
+            + "c.item.itemId, COUNT(c), SUM(CASE WHEN c.verified = false THEN 1L ELSE 0L END)) "
+            + "FROM ClaimEntity c WHERE c.item.itemId IN :itemIds GROUP BY c.item.itemId")
+    List<ClaimCountView> countByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT new com.wildcatsfinder.wildcats_finder.dto.ClaimStatusCount(c.status, c.verified, COUNT(c)) "
+            + "FROM ClaimEntity c GROUP BY c.status, c.verified")
+    List<ClaimStatusCount> countByStatusAndVerified();
+
+    // Claims of items about to be deleted (their claims go with them)
+    @Query("SELECT new com.wildcatsfinder.wildcats_finder.dto.ClaimStatusCount(c.status, c.verified, COUNT(c)) "
+            + "FROM ClaimEntity c WHERE c.item.itemId IN :itemIds GROUP BY c.status, c.verified")
+    List<ClaimStatusCount> countByStatusAndVerifiedForItems(@Param("itemIds") Collection<Long> itemIds);
+
+    // Targeted updates: one UPDATE of the changed columns, no SELECT of the claim first.
+    // Status changes only apply to the status the caller read, so the affected-row count says whether
+    // the claim moved from that status
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClaimEntity c SET c.status = :status, c.version = c.version + 1 "
+            + "WHERE c.claimId = :claimId AND c.status = :from")
+    int updateStatus(@Param("claimId") Long claimId, @Param("from") String from, @Param("status") String status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClaimEntity c SET c.verified = :verified, c.version = c.version + 1 WHERE c.claimId = :claimId")
+    int updateVerified(@Param("claimId") Long claimId, @Param("verified") Boolean verified);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClaimEntity c SET c.status = :status, c.verified = :verified, c.version = c.version + 1 "
+            + "WHERE c.claimId = :claimId AND c.status = :from")
+    int updateStatusAndVerified(@Param("claimId") Long claimId, @Param("from") String from,
+            @Param("status") String status, @Param("verified") Boolean verified);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.wildcatsfinder.wildcats_finder.repository;
+
+import com.wildcatsfinder.wildcats_finder.dto.ItemMatchView;
+import com.wildcatsfinder.wildcats_finder.entity.ItemMatchEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Reads of the item_matches table; ItemMatchService writes it with JDBC batches
+@Repository
+public interface ItemMatchRepository extends JpaRepository<ItemMatchEntity, Long> {
+
+        // Stored top-k of an item (its FOUND reports if it is LOST and vice versa), best first
+        @Query("SELECT new com.wildcatsfinder.wildcats_finder.dto.ItemMatchView("
+                        + "c.itemId, c.itemTitle, c.status, c.location, c.dateReport, c.imageUrl, d.depName, "
+                        + "m.score, m.matchedAt) "
+                        + "FROM ItemMatchEntity m JOIN m.candidate c JOIN c.department d "
+                        + "WHERE m.item.itemId = :itemId "
+                        + "ORDER BY m.score DESC, c.itemId DESC")
+        List<ItemMatchView> findMatchesOf(@Param("itemId") Long itemId);
+}
@@ -1,28 +1,135 @@
 package com.wildcatsfinder.wildcats_finder.repository;
 
+import com.wildcatsfinder.wildcats_finder.dto.ItemCardView;
+import com.wildcatsfinder.wildcats_finder.dto.ItemCountView;
 import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
 import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ItemRepository extends JpaRepository<ItemEntity, Long> {
+public interface ItemRepository extends JpaRepository<ItemEntity, Long>, ItemRepositoryCustom {
+
+        // List queries below load category and department in the same SELECT (ItemEntity.CARD_GRAPH),
+        // so serializing categoryName/departmentName does not fire one extra query per item.
+
+        // Reference count of a stored image: items whose imageUrl points at it
+        long countByImageUrl(String imageUrl);
+
+        // Which of these image URLs are still referenced, for the orphan file sweeper
+        @Query("SELECT DISTINCT i.imageUrl FROM ItemEntity i WHERE i.imageUrl IN :imageUrls")
+        List<String> findReferencedImageUrls(@Param("imageUrls") Collection<String> imageUrls);
+
+        // Claim transition as one conditional UPDATE: the row is only changed while it is still FOUND and
+        // not owned by the claimant, so of several concurrent claimants exactly one gets an update count of 1
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE ItemEntity i "
+                        + "SET i.status = com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus.CLAIMED, "
+                        + "i.version = i.version + 1 "
+                        + "WHERE i.itemId = :itemId "
+                        + "AND i.status = com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus.FOUND "
+                        + "AND i.user.userId <> :claimantId")
+        int claimIfFound(@Param("itemId") Long itemId, @Param("claimantId") Long claimantId);
+
+        // Status flip without loading the item first
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE ItemEntity i SET i.status = :status, i.version = i.version + 1 WHERE i.itemId = :itemId")
+        int updateStatus(@Param("itemId") Long itemId, @Param("status") ItemStatus status);
+
+        // Current image of an item, to release the old file when a PATCH replaces it
+        @Query("SELECT i.imageUrl FROM ItemEntity i WHERE i.itemId = :itemId")
+        String findImageUrlById(@Param("itemId") Long itemId);
+
+        // Items deleted along with their category or department
+        @Query("SELECT i.itemId FROM ItemEntity i WHERE i.category.categoryId = :categoryId")
+        List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+        @Query("SELECT i.itemId FROM ItemEntity i WHERE i.department.depId = :depId")
+        List<Long> findIdsByDepartmentId(@Param("depId") Long depId);
+
+        // Dashboard statistics - item counts per status, category and department in one GROUP BY
+        @Query("SELECT new com.wildcatsfinder.wildcats_finder.dto.ItemCountView("
+                        + "i.status, i.category.categoryId, i.department.depId, COUNT(i)) "
+                        + "FROM ItemEntity i GROUP BY i.status, i.category.categoryId, i.department.depId")
+        List<ItemCountView> countByStatusCategoryAndDepartment();
 
         // Dashboard - show all items by status
+        @EntityGraph(ItemEntity.CARD_GRAPH)
         List<ItemEntity> findByStatus(ItemStatus status);
 
         // Search functionality
+        @EntityGraph(ItemEntity.CARD_GRAPH)
         List<ItemEntity> findByItemTitleContainingIgnoreCase(String title);
 
+        @EntityGraph(ItemEntity.CARD_GRAPH)
         List<ItemEntity> findByLocationContainingIgnoreCase(String location);
 
+        @EntityGraph(ItemEntity.CARD_GRAPH)
+        List<ItemEntity> findByItemDescContainingIgnoreCase(String description);
+
+        // Date filtering (exclusive bounds), uses the leading date_report column of idx_items_date_report_item_id
+        @EntityGraph(ItemEntity.CARD_GRAPH)
+        List<ItemEntity> findByDateReportAfterAndDateReportBefore(LocalDateTime startDate, LocalDateTime endDate);
+
+        @EntityGraph(ItemEntity.CARD_GRAPH)
+        List<ItemEntity> findByDateReportAfter(LocalDateTime since);
+
         // User's own items
+        @EntityGraph(ItemEntity.CARD_GRAPH)
         List<ItemEntity> findByUser_UserId(Long userId);
 
         // Filtering by category/department
+        @EntityGraph(ItemEntity.CARD_GRAPH)
         List<ItemEntity> findByCategory_CategoryId(Long categoryId);
 
+        @EntityGraph(ItemEntity.CARD_GRAPH)
         List<ItemEntity> findByDepartment_DepId(Long departmentId);
+
+        // Batch load for ranked search results
+        @EntityGraph(ItemEntity.CARD_GRAPH)
+        List<ItemEntity> findByItemIdIn(Collection<Long> itemIds);
+
+        // Search index - items after the given id, with category and department names in the same query
+        @Query("SELECT i FROM ItemEntity i JOIN FETCH i.category JOIN FETCH i.department "
+                        + "WHERE i.itemId > :afterId ORDER BY i.itemId")
+        List<ItemEntity> findSearchIndexBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+        // Dashboard feed - first page, newest first (keyset on date_report, item_id)
+        @EntityGraph(ItemEntity.CARD_GRAPH)
+        @Query("SELECT i FROM ItemEntity i ORDER BY i.dateReport DESC, i.itemId DESC")
+        List<ItemEntity> findFeedFirstPage(Pageable pageable);
+
+        // Dashboard feed - next page strictly after the (dateReport, itemId) cursor
+        @EntityGraph(ItemEntity.CARD_GRAPH)
+        @Query("SELECT i FROM ItemEntity i "
+                        + "WHERE i.dateReport < :dateReport "
+                        + "OR (i.dateReport = :dateReport AND i.itemId < :itemId) "
+                        + "ORDER BY i.dateReport DESC, i.itemId DESC")
+        List<ItemEntity> findFeedAfter(@Param("dateReport") LocalDateTime dateReport,
+                        @Param("itemId") Long itemId, Pageable pageable);
+
+        // Item cards - only the columns a card shows, newest first
+        @Query("SELECT new com.wildcatsfinder.wildcats_finder.dto.ItemCardView("
+                        + "i.itemId, i.itemTitle, i.itemDesc, i.status, i.location, i.dateReport, i.imageUrl, "
+                        + "i.user.userId, c.categoryName, d.depName) "
+                        + "FROM ItemEntity i JOIN i.category c JOIN i.department d "
+                        + "ORDER BY i.dateReport DESC, i.itemId DESC")
+        List<ItemCardView> findCards(Pageable pageable);
+
+        @Query("SELECT new com.wildcatsfinder.wildcats_finder.dto.ItemCardView("
+                        + "i.itemId, i.itemTitle, i.itemDesc, i.status, i.location, i.dateReport, i.imageUrl, "
+                        + "i.user.userId, c.categoryName, d.depName) "
+                        + "FROM ItemEntity i JOIN i.category c JOIN i.department d "
+                        + "WHERE i.status = :status "
+                        + "ORDER BY i.dateReport DESC, i.itemId DESC")
+        List<ItemCardView> findCardsByStatus(@Param("status") ItemStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.wildcatsfinder.wildcats_finder.repository;
+
+import java.util.Map;
+
+// Hand-written additions to ItemRepository (implemented in ItemRepositoryImpl)
+public interface ItemRepositoryCustom {
+
+    // Partial update: one UPDATE setting only the given ItemEntity attributes, plus the version.
+    // With an expectedVersion the row is only changed while it still has that version.
+    // Returns the number of rows changed (0 when the item is missing or the version is stale).
+    int patchItem(Long itemId, Map<String, Object> changes, Long expectedVersion);
+}
@@ -0,0 +1,44 @@
+package com.wildcatsfinder.wildcats_finder.repository;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+// The set of changed columns varies per request, so the statement is built with CriteriaUpdate
+// instead of a fixed @Query
+class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patchItem(Long itemId, Map<String, Object> changes, Long expectedVersion) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<ItemEntity> update = builder.createCriteriaUpdate(ItemEntity.class);
+        Root<ItemEntity> item = update.from(ItemEntity.class);
+
+        changes.forEach(update::set);
+        Path<Long> version = item.get("version");
+        update.set(version, builder.sum(version, 1L));
+
+        Predicate where = builder.equal(item.get("itemId"), itemId);
+        if (expectedVersion != null) {
+            where = builder.and(where, builder.equal(version, expectedVersion));
+        }
+        update.where(where);
+
+        int updated = entityManager.createQuery(update).executeUpdate();
+        // Like @Modifying(clearAutomatically = true): drop entities loaded before the update, they are stale now
+        entityManager.clear();
+        return updated;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -21,6 +22,13 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.reportedItems WHERE u.username = :username")
+    // Login - user with reported items and their category/department in one query
+    @Query("SELECT DISTINCT u FROM UserEntity u LEFT JOIN FETCH u.reportedItems i "
+            + "LEFT JOIN FETCH i.category LEFT JOIN FETCH i.department WHERE u.username = :username")
     Optional<UserEntity> findByUsernameWithItems(@Param("username") String username);
-}
\ No newline at end of file
+
+    // Admin user list - same shape as login, one query for all users instead of one per user's items
+    @Query("SELECT DISTINCT u FROM UserEntity u LEFT JOIN FETCH u.reportedItems i "
+            + "LEFT JOIN FETCH i.category LEFT JOIN FETCH i.department")
+    List<UserEntity> findAllWithItems();
+}
@@ -2,10 +2,11 @@ package com.wildcatsfinder.wildcats_finder.service;
 
 import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
 import com.wildcatsfinder.wildcats_finder.repository.CategoryRepository;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -16,21 +17,33 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    // Reads are served from the in-memory registry; writes refresh it
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
     // CREATE: Add a new category
     public CategoryEntity createCategory(CategoryEntity category) {
-        return categoryRepository.save(category);
+        CategoryEntity savedCategory = categoryRepository.save(category);
+        referenceDataRegistry.refresh();
+        return savedCategory;
     }
 
     // READ: Fetch all categories
     public List<CategoryEntity> getAllCategories() {
-        return categoryRepository.findAll();
+        return referenceDataRegistry.getCategories();
     }
 
     // READ: Fetch a category by its ID
     public CategoryEntity getCategoryById(Long id) {
-        Optional<CategoryEntity> category = categoryRepository.findById(id);
-        if (category.isPresent()) {
-            return category.get();
+        CategoryEntity category = referenceDataRegistry.getCategoryById(id);
+        if (category != null) {
+            return category;
         } else {
             throw new NoSuchElementException("Category " + id + " not found");
         }
@@ -38,13 +51,9 @@ public class CategoryService {
 
     // READ: Fetch a category by its name
     public CategoryEntity getCategoryByName(String categoryName) {
-        List<CategoryEntity> categories = categoryRepository.findAll();
-
-        // Loop through each category and check if the name matches
-        for (CategoryEntity category : categories) {
-            if (category.getCategoryName().equals(categoryName)) {
-                return category; // Found a match, return category immediately
-            }
+        CategoryEntity category = referenceDataRegistry.getCategoryByName(categoryName);
+        if (category != null) {
+            return category;
         }
 
         // No match was found
@@ -53,32 +62,12 @@ public class CategoryService {
 
     // CHECK: Verify if category name already exists
     public boolean isCategoryNameExists(String categoryName) {
-        List<CategoryEntity> categories = categoryRepository.findAll();
-
-        // Loop through each category and check if the name matches
-        for (CategoryEntity category : categories) {
-            if (category.getCategoryName().equals(categoryName)) {
-                return true; // Found a match, return true
-            }
-        }
-
-        // No match was found
-        return false;
+        return referenceDataRegistry.getCategoryByName(categoryName) != null;
     }
 
     // SEARCH: Find categories by name containing search term
     public List<CategoryEntity> searchCategoriesByName(String searchTerm) {
-        List<CategoryEntity> categories = categoryRepository.findAll();
-        List<CategoryEntity> matchingCategories = new ArrayList<>();
-
-        // Loop through each category and check if name contains search term
-        for (CategoryEntity category : categories) {
-            if (category.getCategoryName().toLowerCase().contains(searchTerm.toLowerCase())) {
-                matchingCategories.add(category);
-            }
-        }
-
-        return matchingCategories;
+        return referenceDataRegistry.searchCategoriesByName(searchTerm);
     }
 
     // UPDATE: Modify an existing category
@@ -96,13 +85,18 @@ public class CategoryService {
         category.setCategoryName(categoryDetails.getCategoryName());
         category.setCatDescription(categoryDetails.getCatDescription());
 
-        return categoryRepository.save(category);
+        CategoryEntity savedCategory = categoryRepository.save(category);
+        referenceDataRegistry.refresh();
+        return savedCategory;
     }
 
-    // DELETE: Remove a category
+    // DELETE: Remove a category; its items (and their claims) are deleted with it
+    @Transactional
     public String deleteCategory(Long id) {
         if (categoryRepository.findById(id).isPresent()) {
+            itemService.itemsCascadeDeleted(itemRepository.findIdsByCategoryId(id));
             categoryRepository.deleteById(id);
+            referenceDataRegistry.refresh();
             return "Category " + id + " is successfully deleted!";
         } else {
             return "Category " + id + " does not exist.";
@@ -1,27 +1,55 @@
 package com.wildcatsfinder.wildcats_finder.service;
 
+import com.wildcatsfinder.wildcats_finder.dto.ClaimCountView;
+import com.wildcatsfinder.wildcats_finder.dto.ClaimStatusCount;
 import com.wildcatsfinder.wildcats_finder.entity.ClaimEntity;
 import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
 import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
 import com.wildcatsfinder.wildcats_finder.repository.ClaimRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class ClaimService {
 
+    private static final Logger log = LoggerFactory.getLogger(ClaimService.class);
+
+    // Values of ClaimEntity.status
+    private static final Set<String> CLAIM_STATUSES = Set.of("PENDING", "APPROVED", "REJECTED");
+
     @Autowired
     private ClaimRepository claimRepository;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
     // CREATE: Add a new claim
     public ClaimEntity createClaim(ClaimEntity claim) {
-        return claimRepository.save(claim);
+        ClaimEntity savedClaim = claimRepository.save(claim);
+        statisticsService.claimAdded(savedClaim.getStatus());
+        liveUpdateService.claimFiled(savedClaim);
+        return savedClaim;
     }
 
     // READ: Fetch all claims
@@ -51,17 +79,7 @@ public class ClaimService {
 
     // READ: Fetch claims by status
     public List<ClaimEntity> getClaimsByStatus(String status) {
-        List<ClaimEntity> claims = claimRepository.findAll();
-        List<ClaimEntity> matchingClaims = new ArrayList<>();
-
-        // Loop through each claim and check if status matches
-        for (ClaimEntity claim : claims) {
-            if (claim.getStatus().equals(status)) {
-                matchingClaims.add(claim);
-            }
-        }
-
-        return matchingClaims;
+        return claimRepository.findByStatus(status);
     }
 
     // READ: Fetch verified or unverified claims
@@ -71,18 +89,7 @@ public class ClaimService {
 
     // READ: Fetch claims by user and status
     public List<ClaimEntity> getClaimsByUserAndStatus(UserEntity user, String status) {
-        // Combining available methods - get user's claims then filter by status
-        List<ClaimEntity> userClaims = claimRepository.findByUser_UserId(user.getUserId());
-        List<ClaimEntity> matchingClaims = new ArrayList<>();
-
-        // Loop through user's claims and check if status matches
-        for (ClaimEntity claim : userClaims) {
-            if (claim.getStatus().equals(status)) {
-                matchingClaims.add(claim);
-            }
-        }
-
-        return matchingClaims;
+        return claimRepository.findByUser_UserIdAndStatus(user.getUserId(), status);
     }
 
     // READ: Fetch claims between two dates
@@ -107,8 +114,46 @@ public class ClaimService {
 
     // READ: Count claims for an item
     public Long countClaimsByItemId(Long itemId) {
-        List<ClaimEntity> claims = claimRepository.findByItem_ItemId(itemId);
-        return (long) claims.size();
+        return claimRepository.countByItem_ItemId(itemId);
+    }
+
+    // READ: Claim counts for many items in one query; every requested item is present, with zeros if unclaimed
+    public Map<Long, ClaimCountView> countClaimsByItemIds(Collection<Long> itemIds) {
+        Map<Long, ClaimCountView> counts = new LinkedHashMap<>();
+        for (Long itemId : itemIds) {
+            counts.put(itemId, new ClaimCountView(itemId, 0L, 0L));
+        }
+        if (!counts.isEmpty()) {
+            for (ClaimCountView count : claimRepository.countByItemIds(counts.keySet())) {
+                counts.put(count.itemId(), count);
+            }
+        }
+        return counts;
+    }
+
+    // READ: Claim totals per status and per verified flag, from one GROUP BY query
+    public Map<String, Object> getClaimStatusSummary() {
+        Map<String, Long> byStatus = new TreeMap<>();
+        for (String status : CLAIM_STATUSES) {
+            byStatus.put(status, 0L);
+        }
+        long verified = 0;
+        long unverified = 0;
+        for (ClaimStatusCount row : claimRepository.countByStatusAndVerified()) {
+            byStatus.merge(row.status(), row.count(), Long::sum);
+            if (Boolean.TRUE.equals(row.verified())) {
+                verified += row.count();
+            } else {
+                unverified += row.count();
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("total", verified + unverified);
+        summary.put("byStatus", byStatus);
+        summary.put("verified", verified);
+        summary.put("unverified", unverified);
+        return summary;
     }
 
     // UPDATE: Modify an existing claim
@@ -122,6 +167,8 @@ public class ClaimService {
             throw new NoSuchElementException("Claim " + id + " not found");
         }
 
+        String previousStatus = claim.getStatus();
+
         // Update claim fields
         claim.setClaimDate(claimDetails.getClaimDate());
         claim.setStatus(claimDetails.getStatus());
@@ -129,46 +176,89 @@ public class ClaimService {
         claim.setItem(claimDetails.getItem());
         claim.setUser(claimDetails.getUser());
 
-        return claimRepository.save(claim);
+        ClaimEntity savedClaim = claimRepository.save(claim);
+        // The version check on save guarantees the claim still had previousStatus
+        statisticsService.claimStatusChanged(previousStatus, savedClaim.getStatus());
+        if (savedClaim.getStatus() != null && !savedClaim.getStatus().equals(previousStatus)) {
+            liveUpdateService.claimStatusChanged(id, itemIdOf(savedClaim), savedClaim.getStatus());
+        }
+        return savedClaim;
     }
 
     // UPDATE: Verify a claim
+    @Transactional
     public ClaimEntity verifyClaim(Long id, Boolean verified) {
-        // Check Optional explicitly and assign to a variable
-        ClaimEntity claim;
-        Optional<ClaimEntity> optionalClaim = claimRepository.findById(id);
-        if (optionalClaim.isPresent()) {
-            claim = optionalClaim.get();
-        } else {
-            throw new NoSuchElementException("Claim " + id + " not found");
-        }
-
-        // Update only the verification status
-        claim.setVerified(verified);
-        return claimRepository.save(claim);
+        // Update only the verification flag, then read the claim back for the caller
+        requireUpdated(id, claimRepository.updateVerified(id, verified));
+        return getClaimById(id);
     }
 
     // UPDATE: Change claim status
+    @Transactional
     public ClaimEntity updateClaimStatus(Long id, String newStatus) {
-        // Check Optional explicitly and assign to a variable
-        ClaimEntity claim;
-        Optional<ClaimEntity> optionalClaim = claimRepository.findById(id);
-        if (optionalClaim.isPresent()) {
-            claim = optionalClaim.get();
+        // Update only the status, then read the claim back for the caller
+        changeStatus(id, newStatus, null);
+        ClaimEntity claim = getClaimById(id);
+        liveUpdateService.claimStatusChanged(id, itemIdOf(claim), newStatus);
+        return claim;
+    }
+
+    // PATCH: Change status and/or verified (null = unchanged) with one UPDATE; a status change first reads
+    // the current status
+    @Transactional
+    public void patchClaim(Long id, String status, Boolean verified) {
+        if (status != null && !CLAIM_STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Invalid status value: " + status);
+        }
+        if (status == null && verified == null) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        if (status == null) {
+            requireUpdated(id, claimRepository.updateVerified(id, verified));
         } else {
+            changeStatus(id, status, verified);
+            // The item id is looked up by the event broadcaster, not here (this path runs one UPDATE only)
+            liveUpdateService.claimStatusChanged(id, null, status);
+        }
+    }
+
+    // Status change (and verified, unless null) of one claim. The UPDATE only applies to the status the
+    // claim moves from, so the counters move by exactly the row that changed. Most changes leave PENDING,
+    // which takes one UPDATE; otherwise the current status is read, with the row locked, and then updated.
+    private void changeStatus(Long id, String status, Boolean verified) {
+        if (!"PENDING".equals(status) && updateStatus(id, "PENDING", status, verified) == 1) {
+            statisticsService.claimStatusChanged("PENDING", status);
+            return;
+        }
+        String from = claimRepository.findStatusForUpdate(id)
+                .orElseThrow(() -> new NoSuchElementException("Claim " + id + " not found"));
+        requireUpdated(id, updateStatus(id, from, status, verified));
+        statisticsService.claimStatusChanged(from, status);
+    }
+
+    private int updateStatus(Long id, String from, String status, Boolean verified) {
+        return verified != null
+                ? claimRepository.updateStatusAndVerified(id, from, status, verified)
+                : claimRepository.updateStatus(id, from, status);
+    }
+
+    private static void requireUpdated(Long id, int updated) {
+        if (updated == 0) {
             throw new NoSuchElementException("Claim " + id + " not found");
         }
+    }
 
-        // Update only the status
-        claim.setStatus(newStatus);
-        return claimRepository.save(claim);
+    private static Long itemIdOf(ClaimEntity claim) {
+        return claim.getItem() != null ? claim.getItem().getItemId() : null;
     }
 
     
     // DELETE: Remove a claim
     public String deleteClaim(Long id) {
-        if (claimRepository.findById(id).isPresent()) {
+        Optional<ClaimEntity> claim = claimRepository.findById(id);
+        if (claim.isPresent()) {
             claimRepository.deleteById(id);
+            statisticsService.claimRemoved(claim.get().getStatus());
             return "Claim " + id + " is successfully deleted!";
         } else {
             return "Claim " + id + " does not exist.";
@@ -185,9 +275,21 @@ public class ClaimService {
         return claimRepository.findByItem_ItemId(itemId);
     }
 
-    // ADMIN: Get pending claims for admin review
+    // ADMIN: Get pending claims for admin review, oldest first (prefer the paged queue)
     public List<ClaimEntity> getPendingClaims() {
-        return claimRepository.findByVerified(false);
+        return claimRepository.findByVerifiedOrderByClaimDateAscClaimIdAsc(false);
+    }
+
+    // ADMIN: One page of the review queue, filtered by status or, without a status, by verified.
+    // Sorted on claim date (claim id breaks ties so pages never overlap).
+    @Transactional(readOnly = true)
+    public Page<ClaimEntity> getClaimQueue(String status, Boolean verified, int page, int size, boolean newestFirst) {
+        Sort.Direction direction = newestFirst ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, "claimDate", "claimId"));
+        if (status != null) {
+            return claimRepository.findByStatus(status, pageable);
+        }
+        return claimRepository.findByVerified(verified, pageable);
     }
 
     
@@ -197,44 +299,31 @@ public class ClaimService {
     }
 
         // APPROVE CLAIM: Approve a pending claim
+@Transactional
 public ClaimEntity approveClaim(Long claimId) {
-    ClaimEntity claim;
-    Optional<ClaimEntity> optionalClaim = claimRepository.findById(claimId);
-    if (optionalClaim.isPresent()) {
-        claim = optionalClaim.get();
-    } else {
-        throw new NoSuchElementException("Claim " + claimId + " not found");
-    }
-
-    claim.setVerified(true);
-    claim.setStatus("APPROVED");
-    return claimRepository.save(claim);
+    changeStatus(claimId, "APPROVED", true);
+    ClaimEntity claim = getClaimById(claimId);
+    liveUpdateService.claimStatusChanged(claimId, itemIdOf(claim), "APPROVED");
+    return claim;
 }
 
 // REJECT CLAIM: Reject a pending claim
+@Transactional
 public ClaimEntity rejectClaim(Long claimId) {
-    ClaimEntity claim;
-    Optional<ClaimEntity> optionalClaim = claimRepository.findById(claimId);
-    if (optionalClaim.isPresent()) {
-        claim = optionalClaim.get();
-    } else {
-        throw new NoSuchElementException("Claim " + claimId + " not found");
-    }
-
-    claim.setVerified(false);
-    claim.setStatus("REJECTED");
-    return claimRepository.save(claim);
+    changeStatus(claimId, "REJECTED", false);
+    ClaimEntity claim = getClaimById(claimId);
+    liveUpdateService.claimStatusChanged(claimId, itemIdOf(claim), "REJECTED");
+    return claim;
 }
 
     // FILE CLAIM: File a new claim with automatic timestamp
    public ClaimEntity fileNewClaim(ClaimEntity claim) {
-    System.out.println("=== DEBUG: fileNewClaim called ===");
-    System.out.println("Received claim data:");
-    System.out.println("Item ID: " + (claim.getItem() != null ? claim.getItem().getItemId() : "null"));
-    System.out.println("User ID: " + (claim.getUser() != null ? claim.getUser().getUserId() : "null"));
-    System.out.println("Verification Answer: " + claim.getVerificationAnswer());
-    System.out.println("Status: " + claim.getStatus());
-    System.out.println("Verified: " + claim.getVerified());
+    if (log.isDebugEnabled()) {
+        log.debug("Filing claim: itemId={}, userId={}, status={}, verified={}",
+                claim.getItem() != null ? claim.getItem().getItemId() : null,
+                claim.getUser() != null ? claim.getUser().getUserId() : null,
+                claim.getStatus(), claim.getVerified());
+    }
     
     // Set default values
     claim.setClaimDate(LocalDateTime.now());
@@ -243,13 +332,15 @@ public ClaimEntity rejectClaim(Long claimId) {
     
     // If verificationAnswer is null, set a default
     if (claim.getVerificationAnswer() == null) {
-        System.out.println("WARNING: verificationAnswer is null! Setting default.");
+        log.warn("Claim for item {} has no verification answer, using default",
+                claim.getItem() != null ? claim.getItem().getItemId() : null);
         claim.setVerificationAnswer("No verification provided");
     }
     
     ClaimEntity savedClaim = claimRepository.save(claim);
-    System.out.println("Claim saved with ID: " + savedClaim.getClaimId());
-    System.out.println("Saved verificationAnswer: " + savedClaim.getVerificationAnswer());
+    statisticsService.claimAdded(savedClaim.getStatus());
+    liveUpdateService.claimFiled(savedClaim);
+    log.debug("Claim saved with ID {}", savedClaim.getClaimId());
     
     return savedClaim;
 }
@@ -2,10 +2,11 @@ package com.wildcatsfinder.wildcats_finder.service;
 
 import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
 import com.wildcatsfinder.wildcats_finder.repository.DepartmentRepository;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -16,21 +17,33 @@ public class DepartmentService {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    // Reads are served from the in-memory registry; writes refresh it
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
     // CREATE: Add a new department
     public DepartmentEntity createDepartment(DepartmentEntity department) {
-        return departmentRepository.save(department);
+        DepartmentEntity savedDepartment = departmentRepository.save(department);
+        referenceDataRegistry.refresh();
+        return savedDepartment;
     }
 
     // READ: Fetch all departments
     public List<DepartmentEntity> getAllDepartments() {
-        return departmentRepository.findAll();
+        return referenceDataRegistry.getDepartments();
     }
 
     // READ: Fetch a department by its ID
     public DepartmentEntity getDepartmentById(Long id) {
-        Optional<DepartmentEntity> department = departmentRepository.findById(id);
-        if (department.isPresent()) {
-            return department.get();
+        DepartmentEntity department = referenceDataRegistry.getDepartmentById(id);
+        if (department != null) {
+            return department;
         } else {
             throw new NoSuchElementException("Department " + id + " not found");
         }
@@ -38,13 +51,9 @@ public class DepartmentService {
 
     // READ: Fetch a department by its name
     public DepartmentEntity getDepartmentByName(String depName) {
-        List<DepartmentEntity> departments = departmentRepository.findAll();
-
-        // Loop through each department and check if the name matches
-        for (DepartmentEntity department : departments) {
-            if (department.getDepName().equals(depName)) {
-                return department; // Found a match, return it immediately
-            }
+        DepartmentEntity department = referenceDataRegistry.getDepartmentByName(depName);
+        if (department != null) {
+            return department;
         }
 
         // No match was found
@@ -53,63 +62,22 @@ public class DepartmentService {
 
     // READ: Fetch departments by location
     public List<DepartmentEntity> getDepartmentsByLocation(String location) {
-        List<DepartmentEntity> departments = departmentRepository.findAll();
-        List<DepartmentEntity> matchingDepartments = new ArrayList<>();
-
-        // Loop through each department and check if location matches
-        for (DepartmentEntity department : departments) {
-            if (department.getLocation() != null && department.getLocation().equals(location)) {
-                matchingDepartments.add(department);
-            }
-        }
-
-        return matchingDepartments;
+        return referenceDataRegistry.getDepartmentsByLocation(location);
     }
 
     // CHECK: Verify if department name already exists
     public boolean isDepartmentNameExists(String depName) {
-        List<DepartmentEntity> departments = departmentRepository.findAll();
-
-        // Loop through each department and check if the name matches
-        for (DepartmentEntity department : departments) {
-            if (department.getDepName().equals(depName)) {
-                return true; // Found a match, so return true immediately
-            }
-        }
-
-        // No match was found
-        return false;
+        return referenceDataRegistry.getDepartmentByName(depName) != null;
     }
 
     // SEARCH: Find departments by name containing search term
     public List<DepartmentEntity> searchDepartmentsByName(String searchTerm) {
-        List<DepartmentEntity> departments = departmentRepository.findAll();
-        List<DepartmentEntity> matchingDepartments = new ArrayList<>();
-
-        // Loop through each department and check if name contains search term
-        for (DepartmentEntity department : departments) {
-            if (department.getDepName().toLowerCase().contains(searchTerm.toLowerCase())) {
-                matchingDepartments.add(department);
-            }
-        }
-
-        return matchingDepartments;
+        return referenceDataRegistry.searchDepartmentsByName(searchTerm);
     }
 
     // SEARCH: Find departments by location containing search term
     public List<DepartmentEntity> searchDepartmentsByLocation(String searchTerm) {
-        List<DepartmentEntity> departments = departmentRepository.findAll();
-        List<DepartmentEntity> matchingDepartments = new ArrayList<>();
-
-        // Loop through each department and check if location contains search term
-        for (DepartmentEntity department : departments) {
-            if (department.getLocation() != null &&
-                    department.getLocation().toLowerCase().contains(searchTerm.toLowerCase())) {
-                matchingDepartments.add(department);
-            }
-        }
-
-        return matchingDepartments;
+        return referenceDataRegistry.searchDepartmentsByLocation(searchTerm);
     }
 
     // UPDATE: Modify an existing department
@@ -127,13 +95,18 @@ public class DepartmentService {
         department.setDepName(departmentDetails.getDepName());
         department.setLocation(departmentDetails.getLocation());
 
-        return departmentRepository.save(department);
+        DepartmentEntity savedDepartment = departmentRepository.save(department);
+        referenceDataRegistry.refresh();
+        return savedDepartment;
     }
 
-    // DELETE: Remove a department
+    // DELETE: Remove a department; its items (and their claims) are deleted with it
+    @Transactional
     public String deleteDepartment(Long id) {
         if (departmentRepository.findById(id).isPresent()) {
+            itemService.itemsCascadeDeleted(itemRepository.findIdsByDepartmentId(id));
             departmentRepository.deleteById(id);
+            referenceDataRegistry.refresh();
             return "Department " + id + " is successfully deleted!";
         } else {
             return "Department " + id + " does not exist.";
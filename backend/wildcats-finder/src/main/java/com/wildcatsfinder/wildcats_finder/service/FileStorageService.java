@@ -1,46 +1,357 @@
 package com.wildcatsfinder.wildcats_finder.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 public class FileStorageService {
-    
+
+    public static final String IMAGE_URL_PREFIX = "/api/items/images/";
+
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
-    
+
+    @Value("${file.max-upload-size:10485760}")
+    private long maxUploadSize;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    // A duplicate upload refreshes the stored file's modification time; orphan removal leaves files
+    // touched within this window alone, so an upload that is about to be referenced is never deleted
+    @Value("${file.orphan-grace-seconds:600}")
+    private long orphanGraceSeconds;
+
+    // Registered on the global registry, which Spring Boot links to the application's MeterRegistry,
+    // so instances created outside the container (unit tests, benchmarks) still work
+    private static final Counter BYTES_WRITTEN = Counter.builder("files.bytes.written")
+            .description("Bytes of uploaded files written to storage").baseUnit("bytes").register(Metrics.globalRegistry);
+    private static final Counter BYTES_READ = Counter.builder("files.bytes.read")
+            .description("Bytes of stored files read back").baseUnit("bytes").register(Metrics.globalRegistry);
+    private static final Counter DEDUPLICATED_UPLOADS = Counter.builder("files.uploads.deduplicated")
+            .description("Uploads whose content was already stored").register(Metrics.globalRegistry);
+
+    // Enough leading bytes to recognise every accepted image format
+    private static final int SIGNATURE_LENGTH = 12;
+
+    // Content-addressed names: hex SHA-256, optionally followed by a variant suffix and an extension.
+    // Anything else is a legacy UUID name stored flat in the upload directory.
+    private static final Pattern HASHED_NAME = Pattern.compile("([0-9a-f]{64})([-.].*)?");
+
+    // Striped locks per content hash: a deduplicated store and an orphan removal of the same hash never interleave
+    private static final int LOCK_STRIPES = 64;
+    private final Object[] hashLocks = new Object[LOCK_STRIPES];
+
+    // filename -> SHA-256 of its content, for files whose name is not already their hash.
+    // Stored files are never rewritten, so a hash stays valid for the lifetime of the file.
+    private final ConcurrentHashMap<String, String> contentHashes = new ConcurrentHashMap<>();
+
+    public FileStorageService() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            hashLocks[i] = new Object();
+        }
+    }
+
     public String storeFile(MultipartFile file) throws IOException {
         if (file.isEmpty()) {
             throw new IOException("Failed to store empty file");
         }
-        
-        String originalFilename = file.getOriginalFilename();
-        String fileExtension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
+
+        try (InputStream in = file.getInputStream()) {
+            return storeStream(in);
         }
-        
-        String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-        
+    }
+
+    // Streaming upload: copy the request body straight into the upload directory.
+    // The bytes are hashed and the image signature is checked while they are written, so nothing is
+    // buffered in memory or spooled to a servlet temp file.
+    // Files are content-addressed: the stored name is "<sha256>.<ext>" (extension taken from the signature,
+    // never from the client), kept under ab/cd/ shard directories. Uploading the same image twice
+    // stores it once and returns the same name.
+    public String storeStream(InputStream in) throws IOException {
         Path uploadPath = Paths.get(uploadDir);
         if (!Files.exists(uploadPath)) {
             Files.createDirectories(uploadPath);
         }
-        
-        Path filePath = uploadPath.resolve(uniqueFilename);
-        Files.copy(file.getInputStream(), filePath);
-        
-        return uniqueFilename;
+
+        MessageDigest digest = sha256Digest();
+        Path partFile = uploadPath.resolve(".upload-" + UUID.randomUUID() + ".part");
+        String extension = null;
+        long size = 0;
+
+        try {
+            try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                byte[] array = buffer.array();
+                int read;
+                while ((read = in.read(array, buffer.position(), buffer.remaining())) != -1) {
+                    buffer.position(buffer.position() + read);
+                    if (extension == null) {
+                        if (buffer.position() < SIGNATURE_LENGTH) {
+                            continue; // wait for enough bytes to identify the format
+                        }
+                        extension = imageExtension(array, buffer.position());
+                    }
+                    size += buffer.position();
+                    if (size > maxUploadSize) {
+                        throw new IllegalArgumentException("File exceeds the maximum upload size of " + maxUploadSize + " bytes");
+                    }
+                    digest.update(array, 0, buffer.position());
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+
+                // A body shorter than the signature length never left the buffer inside the loop
+                if (buffer.position() > 0) {
+                    if (extension == null) {
+                        extension = imageExtension(array, buffer.position());
+                    }
+                    digest.update(array, 0, buffer.position());
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    size += buffer.limit();
+                }
+            }
+
+            if (size == 0) {
+                throw new IOException("Failed to store empty file");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String filename = hash + extension;
+            Path filePath = storedPath(uploadPath, filename);
+
+            synchronized (lockFor(hash)) {
+                if (Files.isRegularFile(filePath)) {
+                    // Duplicate content: keep the existing copy and mark it as freshly used
+                    Files.setLastModifiedTime(filePath, FileTime.from(Instant.now()));
+                    DEDUPLICATED_UPLOADS.increment();
+                    return filename;
+                }
+                Files.createDirectories(filePath.getParent());
+                Files.move(partFile, filePath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            BYTES_WRITTEN.increment(size);
+
+            // Thumbnails are generated in the background; the upload response does not wait for them
+            imageVariantService.scheduleVariants(filePath);
+
+            return filename;
+        } finally {
+            Files.deleteIfExists(partFile);
+        }
     }
-    
+
+    public long getMaxUploadSize() {
+        return maxUploadSize;
+    }
+
     public byte[] loadFile(String filename) throws IOException {
-        Path filePath = Paths.get(uploadDir).resolve(filename);
-        return Files.readAllBytes(filePath);
+        byte[] content = Files.readAllBytes(resolveFile(filename));
+        BYTES_READ.increment(content.length);
+        return content;
+    }
+
+    // Resource for streaming a stored file to a client. A plain file resource, so Spring can write it (and
+    // Range requests) straight from the file; ImageBytesFilter counts what was sent via recordBytesServed.
+    public Resource openResource(Path file) {
+        return new FileSystemResource(file);
+    }
+
+    // Bytes of a stored file sent to a client (the response's Content-Length, so 304s and ranges count right)
+    public void recordBytesServed(long bytes) {
+        BYTES_READ.increment(bytes);
+    }
+
+    // Locate an uploaded file (sharded or legacy flat), refusing names that point outside the upload directory
+    public Path resolveFile(String filename) throws IOException {
+        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path filePath = storedPath(uploadPath, filename).normalize();
+        if (!filePath.startsWith(uploadPath) || !Files.isRegularFile(filePath)) {
+            throw new NoSuchFileException(filename);
+        }
+        return filePath;
+    }
+
+    // Remove an upload and its variants once no item references it any more.
+    // The caller checks the reference count (items whose imageUrl points at the file) first.
+    // Returns false when the file was kept because a duplicate upload touched it within the grace period.
+    public boolean deleteUnreferencedFile(String filename) throws IOException {
+        Path filePath;
+        try {
+            filePath = resolveFile(filename);
+        } catch (NoSuchFileException e) {
+            return true;
+        }
+
+        Matcher hashed = HASHED_NAME.matcher(filename);
+        synchronized (lockFor(hashed.matches() ? hashed.group(1) : filename)) {
+            Instant touched = Files.getLastModifiedTime(filePath).toInstant();
+            if (touched.isAfter(Instant.now().minusSeconds(orphanGraceSeconds))) {
+                return false;
+            }
+            for (ImageVariantService.Size size : ImageVariantService.Size.values()) {
+                Files.deleteIfExists(filePath.resolveSibling(
+                        ImageVariantService.variantFilename(filePath.getFileName().toString(), size)));
+            }
+            Files.deleteIfExists(filePath);
+        }
+        contentHashes.remove(filename);
+        return true;
+    }
+
+    // Originals last touched before the orphan grace period, for OrphanFileSweeper. Temporary files left
+    // behind by interrupted uploads or variant writes are of no use by then and are deleted on the way.
+    public void forEachExpiredFile(Consumer<String> action) throws IOException {
+        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        if (!Files.isDirectory(uploadPath)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minusSeconds(orphanGraceSeconds);
+        try (Stream<Path> files = Files.walk(uploadPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                try {
+                    if (!Files.isRegularFile(file) || !Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                        continue;
+                    }
+                    String name = file.getFileName().toString();
+                    if (name.startsWith(".")) {
+                        Files.deleteIfExists(file);
+                    } else if (!ImageVariantService.isVariantFilename(name)) {
+                        action.accept(name); // variants go with their original
+                    }
+                } catch (NoSuchFileException e) {
+                    // removed meanwhile
+                }
+            }
+        }
+    }
+
+    // Stored file name for an image URL produced by the report endpoints, or null for anything else
+    public static String filenameFromImageUrl(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(IMAGE_URL_PREFIX)) {
+            return null;
+        }
+        String filename = imageUrl.substring(IMAGE_URL_PREFIX.length());
+        return filename.isEmpty() ? null : filename;
+    }
+
+    // Content-addressed names live in two levels of shard directories ("abcd..." -> ab/cd/abcd...)
+    private static Path storedPath(Path uploadPath, String filename) {
+        if (HASHED_NAME.matcher(filename).matches()) {
+            return uploadPath.resolve(filename.substring(0, 2)).resolve(filename.substring(2, 4)).resolve(filename);
+        }
+        return uploadPath.resolve(filename);
+    }
+
+    private Object lockFor(String hash) {
+        return hashLocks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    // Locate a downscaled variant of an uploaded image. Formats without variants (GIF, WebP) resolve to
+    // the original itself. Returns null while the variant does not exist yet (and queues its generation,
+    // which also covers files uploaded before variants existed), so the caller can fall back to the original.
+    public Path resolveVariant(String filename, ImageVariantService.Size size) throws IOException {
+        Path original = resolveFile(filename);
+        if (!ImageVariantService.supportsVariants(original)) {
+            return original;
+        }
+        Path variant = original.resolveSibling(ImageVariantService.variantFilename(original.getFileName().toString(), size));
+        if (Files.isRegularFile(variant)) {
+            return variant;
+        }
+        imageVariantService.scheduleVariants(original);
+        return null;
+    }
+
+    // Strong validator for HTTP caching: hex SHA-256 of the file content, computed once per file
+    public String getContentHash(String filename) throws IOException {
+        Matcher hashed = HASHED_NAME.matcher(filename);
+        if (hashed.matches() && (hashed.group(2) == null || hashed.group(2).startsWith("."))) {
+            resolveFile(filename);
+            return hashed.group(1); // the name already is the content hash
+        }
+
+        String cached = contentHashes.get(filename);
+        if (cached != null) {
+            return cached;
+        }
+
+        String hash = sha256(resolveFile(filename));
+        contentHashes.put(filename, hash);
+        return hash;
+    }
+
+    // File extension for a supported image signature (JPEG, PNG, GIF, WebP)
+    static String imageExtension(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return ".jpg";
+        }
+        if (length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G'
+                && head[4] == '\r' && head[5] == '\n' && head[6] == 0x1A && head[7] == '\n') {
+            return ".png";
+        }
+        if (length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8'
+                && (head[4] == '7' || head[4] == '9') && head[5] == 'a') {
+            return ".gif";
+        }
+        if (length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return ".webp";
+        }
+        throw new IllegalArgumentException("Unsupported file type: only JPEG, PNG, GIF and WebP images are accepted");
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256Digest();
+
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
     }
-}
\ No newline at end of file
+}
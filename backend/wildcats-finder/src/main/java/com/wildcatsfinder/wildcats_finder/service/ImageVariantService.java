@@ -0,0 +1,277 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Generates downscaled copies of uploaded images in the background.
+// Variants are written next to the original as "<name>-thumb.<ext>" and "<name>-medium.<ext>".
+// An original that is already small enough (or that cannot be decoded) gets a hard link to itself under the
+// variant's name, so it is decoded once and then served like any other variant.
+// Dimensions are read from the header before decoding: an original with more than image.variants.max-pixels
+// pixels (a small file can declare tens of thousands per side) is decoded subsampled, keeping every n-th pixel
+// of every n-th row, so no upload can make a worker allocate more than that.
+// Until a variant exists, callers serve the original.
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    public enum Size {
+        THUMB("thumb"), MEDIUM("medium");
+
+        private final String suffix;
+
+        Size(String suffix) {
+            this.suffix = suffix;
+        }
+
+        public String getSuffix() { return suffix; }
+
+        // Parse the ?size= request parameter; null or unknown means the original
+        public static Size fromParameter(String value) {
+            if (value == null) {
+                return null;
+            }
+            for (Size size : values()) {
+                if (size.suffix.equalsIgnoreCase(value)) {
+                    return size;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Value("${image.variants.thumb-size:240}")
+    private int thumbSize;
+
+    @Value("${image.variants.medium-size:960}")
+    private int mediumSize;
+
+    // Largest image decoded at full resolution; 4096 x 4096 is 64 MB as a 32-bit image
+    @Value("${image.variants.max-pixels:16777216}")
+    private long maxPixels;
+
+    // A decoded original (possibly subsampled) and its full dimensions
+    record Decoded(BufferedImage image, int width, int height) {
+    }
+
+    // Originals currently queued or being processed, so the same file is never scheduled twice
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor executor;
+
+    public ImageVariantService(
+            @Value("${image.variants.threads:2}") int threads,
+            @Value("${image.variants.queue-capacity:200}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // A full queue drops the job: the original keeps being served and a later request re-schedules it
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    // Name of a variant file, e.g. "abc.jpg" + THUMB -> "abc-thumb.jpg"
+    public static String variantFilename(String filename, Size size) {
+        int dot = filename.lastIndexOf('.');
+        if (dot <= 0) {
+            return filename + "-" + size.getSuffix();
+        }
+        return filename.substring(0, dot) + "-" + size.getSuffix() + filename.substring(dot);
+    }
+
+    // Whether a stored file name is a variant ("abc-thumb.jpg") rather than an original
+    public static boolean isVariantFilename(String filename) {
+        int dot = filename.lastIndexOf('.');
+        String base = dot <= 0 ? filename : filename.substring(0, dot);
+        for (Size size : Size.values()) {
+            if (base.endsWith("-" + size.getSuffix())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Whether variants are generated for this original at all (JPEG and PNG); other formats are always
+    // served as uploaded
+    public static boolean supportsVariants(Path original) {
+        return writerFormat(original) != null;
+    }
+
+    // Queue variant generation for an original; returns immediately
+    public void scheduleVariants(Path original) {
+        if (!supportsVariants(original) || !pending.add(original)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariants(original);
+                } finally {
+                    pending.remove(original);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(original);
+            log.debug("Variant queue full, skipping {}", original.getFileName());
+        }
+    }
+
+    // Decode once, then write every variant smaller than the original and link the others to it
+    void generateVariants(Path original) {
+        String format = writerFormat(original);
+        try {
+            Decoded decoded = decode(original);
+            BufferedImage source = decoded != null ? decoded.image() : null;
+
+            for (Size size : Size.values()) {
+                Path target = original.resolveSibling(variantFilename(original.getFileName().toString(), size));
+                if (Files.exists(target)) {
+                    continue;
+                }
+                int maxDimension = size == Size.THUMB ? thumbSize : mediumSize;
+                if (source == null || (decoded.width() <= maxDimension && decoded.height() <= maxDimension)) {
+                    // Already small enough, or nothing ImageIO can decode: the original is the variant
+                    link(original, target);
+                } else {
+                    write(scale(source, maxDimension, "jpg".equals(format)), format, target);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate image variants for {}: {}", original.getFileName(), e.getMessage());
+        }
+    }
+
+    // Null when ImageIO has no reader for the file or its data is corrupt
+    Decoded decode(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = subsampling(width, height);
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return new Decoded(reader.read(0, param), width, height);
+            } catch (IIOException e) {
+                return null; // corrupt image data
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Smallest n for which every n-th pixel of every n-th row stays within maxPixels
+    private int subsampling(int width, int height) {
+        int step = 1;
+        while ((long) Math.ceilDiv(width, step) * Math.ceilDiv(height, step) > Math.max(1, maxPixels)) {
+            step++;
+        }
+        return step;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxDimension, boolean opaque) {
+        double ratio = Math.min((double) maxDimension / source.getWidth(), (double) maxDimension / source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    // Write to a temporary file first so a half-written variant is never served
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        try {
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                return;
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Hard link, or a copy where the file system has none; never a partial file
+    private static void link(Path original, Path target) throws IOException {
+        try {
+            Files.createLink(target, original);
+            return;
+        } catch (FileAlreadyExistsException e) {
+            return;
+        } catch (UnsupportedOperationException | IOException e) {
+            // fall back to a copy
+        }
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        try {
+            Files.copy(original, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ImageIO writer for the original's extension, or null when variants are not supported for it
+    private static String writerFormat(Path original) {
+        String name = original.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+            return "jpg";
+        }
+        if (name.endsWith(".png")) {
+            return "png";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,258 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.dto.ItemMatchView;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.repository.ItemMatchRepository;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.IndexedItem;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Lost-to-found matching. Every open LOST or FOUND item owns its best matching.top-k counterparts in
+// item_matches. Candidates come from the search index block of the same category and opposite status,
+// limited to the scorer's date window, so matching never reads the items table.
+// When an item is reported, changed or deleted, its own list is rebuilt, and so is the list of every
+// counterpart it scores at least matching.min-score against, before or after the change: only those
+// lists can have held it or can now take it. ItemService reports changes once they commit; rematching
+// runs on one background thread, so requests don't wait for it. Every write to item_matches holds writeLock,
+// so two rematches (or a rematch and RematchJob) never write the same list at once.
+@Service
+public class ItemMatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemMatchService.class);
+
+    static final String DELETE_SQL = "DELETE FROM item_matches WHERE item_id = ?";
+    static final String INSERT_SQL =
+            "INSERT INTO item_matches (item_id, candidate_id, score, matched_at) VALUES (?, ?, ?, ?)";
+
+    // One entry of itemId's list
+    public record Match(Long itemId, Long candidateId, double score) {
+    }
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private MatchScorer matchScorer;
+
+    @Autowired
+    private ItemMatchRepository itemMatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${matching.top-k:5}")
+    private int topK;
+
+    @Value("${matching.min-score:0.3}")
+    private double minScore;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Items waiting for a rematch, with their indexed state before the first change (empty for new items);
+    // an item changed twice before its turn is matched once
+    private final Map<Long, Optional<IndexedItem>> queued = new ConcurrentHashMap<>();
+
+    private final ExecutorService matcher =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("item-matcher").factory());
+
+    // HOOK: Called by ItemService with the indexed state before and after every committed item write
+    public void itemChanged(IndexedItem before, IndexedItem after) {
+        if (before == null && after == null) {
+            return;
+        }
+        if (before != null && after != null && !affectsMatching(before, after)) {
+            return;
+        }
+        // Deleted items are rematched too: the foreign keys drop the rows that named them, and the lists
+        // they were in need a replacement
+        schedule(after != null ? after.itemId() : before.itemId(), before);
+    }
+
+    // READ: Stored matches of an item, best first (one SELECT)
+    public List<ItemMatchView> getMatches(Long itemId) {
+        IndexedItem item = itemSearchIndex.get(itemId);
+        if (item == null) {
+            throw new NoSuchElementException("Item " + itemId + " does not exist.");
+        }
+        if (oppositeOf(item) == null) {
+            // Claimed or returned items are no longer matched
+            return new ArrayList<>();
+        }
+        return itemMatchRepository.findMatchesOf(itemId);
+    }
+
+    // MATCH: Rebuild the list of an item whose previous state is not known; returns the number stored
+    public int rematch(Long itemId) {
+        return rematch(itemId, itemSearchIndex.get(itemId));
+    }
+
+    // MATCH: Rebuild the list of an item and of every counterpart whose list may have held it (scored against
+    // its state before the change) or may now take it; returns the number of matches the item itself keeps
+    public int rematch(Long itemId, IndexedItem before) {
+        return exclusive(() -> {
+            IndexedItem item = itemSearchIndex.get(itemId);
+            Set<Long> owners = new LinkedHashSet<>();
+            owners.add(itemId);
+            for (Match match : scoreCandidates(before)) {
+                owners.add(match.candidateId());
+            }
+            for (Match match : scoreCandidates(item)) {
+                owners.add(match.candidateId());
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Long owner : owners) {
+                // Null for an item deleted meanwhile; it keeps no list
+                matches.addAll(findMatches(itemSearchIndex.get(owner)));
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(DELETE_SQL, owners, owners.size(),
+                        (statement, owner) -> statement.setLong(1, owner));
+                writeMatches(matches);
+            });
+            return (int) matches.stream().filter(match -> match.itemId().equals(itemId)).count();
+        });
+    }
+
+    // Runs work while no other writer touches item_matches
+    public <T> T exclusive(Supplier<T> work) {
+        writeLock.lock();
+        try {
+            return work.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // MATCH: Best top-k counterparts of an open item, above matching.min-score
+    public List<Match> findMatches(IndexedItem item) {
+        return top(scoreCandidates(item), topK);
+    }
+
+    // Every counterpart of an open item scoring at least matching.min-score, in no particular order
+    private List<Match> scoreCandidates(IndexedItem item) {
+        ItemStatus opposite = oppositeOf(item);
+        if (opposite == null || item.dateReport() == null) {
+            return new ArrayList<>();
+        }
+
+        List<IndexedItem> candidates = itemSearchIndex.block(item.categoryId(), opposite,
+                item.dateReport().minus(matchScorer.getWindow()), item.dateReport().plus(matchScorer.getWindow()));
+
+        boolean lost = item.status() == ItemStatus.LOST;
+        List<Match> scored = new ArrayList<>();
+        for (IndexedItem candidate : candidates) {
+            double score = lost ? matchScorer.score(item, candidate) : matchScorer.score(candidate, item);
+            if (score >= minScore) {
+                scored.add(new Match(item.itemId(), candidate.itemId(), score));
+            }
+        }
+        return scored;
+    }
+
+    // Keeps the k best matches without sorting the whole list; best first
+    public static List<Match> top(List<Match> matches, int k) {
+        Comparator<Match> ranking = Comparator.comparingDouble(Match::score).reversed()
+                .thenComparing(Match::itemId).thenComparing(Match::candidateId);
+        PriorityQueue<Match> heap = new PriorityQueue<>(ranking.reversed());
+        for (Match match : matches) {
+            if (heap.size() < k) {
+                heap.add(match);
+            } else if (k > 0 && ranking.compare(match, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(match);
+            }
+        }
+        List<Match> best = new ArrayList<>(heap);
+        best.sort(ranking);
+        return best;
+    }
+
+    // WRITE: One JDBC batch for all rows
+    public void writeMatches(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, matches, matches.size(), (statement, match) -> {
+            statement.setLong(1, match.itemId());
+            statement.setLong(2, match.candidateId());
+            statement.setDouble(3, match.score());
+            statement.setTimestamp(4, now);
+        });
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public double getMinScore() {
+        return minScore;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        matcher.shutdownNow();
+    }
+
+    private void schedule(Long itemId, IndexedItem before) {
+        if (queued.putIfAbsent(itemId, Optional.ofNullable(before)) == null) {
+            matcher.execute(() -> {
+                Optional<IndexedItem> previous = queued.remove(itemId);
+                try {
+                    int stored = rematch(itemId, previous.orElse(null));
+                    log.debug("Item {} has {} matches", itemId, stored);
+                } catch (RuntimeException e) {
+                    log.warn("Could not match item {}: {}", itemId, e.getMessage());
+                }
+            });
+        }
+    }
+
+    private static ItemStatus oppositeOf(IndexedItem item) {
+        if (item == null) {
+            return null;
+        }
+        return switch (item.status()) {
+            case LOST -> ItemStatus.FOUND;
+            case FOUND -> ItemStatus.LOST;
+            default -> null;
+        };
+    }
+
+    // Only the fields MatchScorer and the candidate blocks look at
+    private static boolean affectsMatching(IndexedItem before, IndexedItem after) {
+        return before.status() != after.status()
+                || !Objects.equals(before.categoryId(), after.categoryId())
+                || !Objects.equals(before.departmentId(), after.departmentId())
+                || !Objects.equals(before.dateReport(), after.dateReport())
+                || !Objects.equals(before.terms(), after.terms());
+    }
+}
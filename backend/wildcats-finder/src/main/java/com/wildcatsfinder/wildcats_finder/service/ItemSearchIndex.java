@@ -0,0 +1,562 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over item text fields.
+// Terms are kept in a sorted map so every query token is matched as a prefix ("lap" finds "laptop")
+// without scanning the items table. Writers are serialized; readers never block.
+// A rebuild reads the table into fresh structures on the side and swaps them in at once, so readers see the
+// old index or the new one, never a partly loaded one.
+@Service
+public class ItemSearchIndex {
+
+    // Indexed fields and how much a match in each one is worth
+    public enum Field {
+        TITLE(5), CATEGORY(3), LOCATION(2), DEPARTMENT(2), DESCRIPTION(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+
+        public int getWeight() { return weight; }
+
+        int bit() { return 1 << ordinal(); }
+    }
+
+    // One search clause: the text must match (every token) in at least one of the fields
+    public record Clause(String text, Set<Field> fields) {
+        public static Clause anyField(String text) {
+            return new Clause(text, EnumSet.allOf(Field.class));
+        }
+    }
+
+    // Snapshot of the indexed values of one item
+    public record IndexedItem(Long itemId, String itemTitle, String itemDesc, String location,
+            ItemStatus status, Long categoryId, String categoryName, Long departmentId,
+            String departmentName, LocalDateTime dateReport, Map<String, Integer> terms) {
+    }
+
+    // Blocking key of the lost/found matcher: one category, one status
+    public record Block(Long categoryId, ItemStatus status) {
+    }
+
+    // Block entry, ordered by report date so a date window is a range lookup
+    private record DatedItem(LocalDateTime dateReport, Long itemId) implements Comparable<DatedItem> {
+        @Override
+        public int compareTo(DatedItem other) {
+            int byDate = dateReport.compareTo(other.dateReport);
+            return byDate != 0 ? byDate : itemId.compareTo(other.itemId);
+        }
+    }
+
+    // A ranked hit
+    public record Hit(Long itemId, int score) {
+    }
+
+    // Combined query: free text, per-field text and structured filters, all ANDed together.
+    // Null or blank parts are ignored; the date window is [from, to).
+    public record Query(String text, String title, String location, ItemStatus status,
+            Long categoryId, Long departmentId, LocalDateTime from, LocalDateTime to) {
+
+        List<Clause> clauses() {
+            List<Clause> clauses = new ArrayList<>();
+            if (text != null && !text.isBlank()) {
+                clauses.add(Clause.anyField(text));
+            }
+            if (title != null && !title.isBlank()) {
+                clauses.add(new Clause(title, EnumSet.of(Field.TITLE)));
+            }
+            if (location != null && !location.isBlank()) {
+                clauses.add(new Clause(location, EnumSet.of(Field.LOCATION)));
+            }
+            return clauses;
+        }
+
+        boolean accepts(IndexedItem document) {
+            if (document == null) {
+                return false;
+            }
+            if (status != null && document.status() != status) {
+                return false;
+            }
+            if (categoryId != null && !categoryId.equals(document.categoryId())) {
+                return false;
+            }
+            if (departmentId != null && !departmentId.equals(document.departmentId())) {
+                return false;
+            }
+            if (from != null && (document.dateReport() == null || document.dateReport().isBefore(from))) {
+                return false;
+            }
+            if (to != null && (document.dateReport() == null || !document.dateReport().isBefore(to))) {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    // One page of ranked hits plus the total number of matches
+    public record ResultPage(List<Hit> hits, long total) {
+    }
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int INDEX_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    // Everything the index holds, replaced as a whole by rebuild()
+    private static final class Structures {
+        // term -> (itemId -> bitmask of the fields containing the term)
+        final ConcurrentSkipListMap<String, ConcurrentHashMap<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+        // itemId -> indexed snapshot, used to remove old terms on update/delete
+        final ConcurrentHashMap<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+
+        // (category, status) -> items by report date; the matcher's candidate lists
+        final ConcurrentHashMap<Block, ConcurrentSkipListSet<DatedItem>> blocks = new ConcurrentHashMap<>();
+    }
+
+    private volatile Structures current = new Structures();
+
+    // Items written while a rebuild reads the table (null when none runs); guarded by this.
+    // Their state in the live index is newer than what the rebuild read, and replaces it before the swap.
+    private Set<Long> writtenDuringRebuild;
+
+    private final Object rebuildLock = new Object();
+
+    // STARTUP: Build the index once the application (and data.sql) is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // REBUILD: Re-read every item in id order, one batch at a time, then swap the result in.
+    // Writes go on meanwhile (to the live index) and are carried over at the swap.
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                writtenDuringRebuild = new HashSet<>();
+            }
+            try {
+                Structures fresh = new Structures();
+                Long lastId = 0L;
+                List<ItemEntity> batch;
+                do {
+                    batch = itemRepository.findSearchIndexBatch(lastId, PageRequest.of(0, INDEX_BATCH_SIZE));
+                    for (ItemEntity item : batch) {
+                        IndexedItem document = document(item);
+                        if (document != null) {
+                            put(fresh, document);
+                        }
+                        lastId = item.getItemId();
+                    }
+                } while (batch.size() == INDEX_BATCH_SIZE);
+
+                synchronized (this) {
+                    for (Long itemId : writtenDuringRebuild) {
+                        delete(fresh, itemId);
+                        IndexedItem latest = current.documents.get(itemId);
+                        if (latest != null) {
+                            put(fresh, latest);
+                        }
+                    }
+                    current = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    writtenDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    // WRITE: Add or replace an item in the index
+    public void index(ItemEntity item) {
+        IndexedItem document = document(item);
+        if (document != null) {
+            index(document);
+        }
+    }
+
+    // Indexed snapshot of an item, terms included, without touching the index; null for an unsaved item
+    public IndexedItem document(ItemEntity item) {
+        if (item == null || item.getItemId() == null) {
+            return null;
+        }
+
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, item.getItemTitle(), Field.TITLE);
+        addTerms(terms, item.getItemDesc(), Field.DESCRIPTION);
+        addTerms(terms, item.getLocation(), Field.LOCATION);
+
+        Long categoryId = null;
+        String categoryName = null;
+        if (item.getCategory() != null) {
+            categoryId = item.getCategory().getCategoryId();
+            categoryName = item.getCategory().getCategoryName();
+            addTerms(terms, categoryName, Field.CATEGORY);
+        }
+
+        Long departmentId = null;
+        String departmentName = null;
+        if (item.getDepartment() != null) {
+            departmentId = item.getDepartment().getDepId();
+            departmentName = item.getDepartment().getDepName();
+            addTerms(terms, departmentName, Field.DEPARTMENT);
+        }
+
+        return new IndexedItem(item.getItemId(), item.getItemTitle(), item.getItemDesc(),
+                item.getLocation(), item.getStatus(), categoryId, categoryName, departmentId, departmentName,
+                item.getDateReport(), Collections.unmodifiableMap(terms));
+    }
+
+    // WRITE: Add or replace a snapshot built by document()
+    public synchronized void index(IndexedItem document) {
+        Structures structures = current;
+        delete(structures, document.itemId());
+        put(structures, document);
+        written(document.itemId());
+    }
+
+    // WRITE: Change only the status of an indexed item; its terms stay as they are
+    public synchronized void updateStatus(Long itemId, ItemStatus status) {
+        Structures structures = current;
+        IndexedItem previous = structures.documents.get(itemId);
+        if (previous == null || previous.status() == status) {
+            return;
+        }
+        IndexedItem updated = new IndexedItem(previous.itemId(), previous.itemTitle(), previous.itemDesc(),
+                previous.location(), status, previous.categoryId(), previous.categoryName(), previous.departmentId(),
+                previous.departmentName(), previous.dateReport(), previous.terms());
+        removeFromBlock(structures, previous);
+        structures.documents.put(itemId, updated);
+        addToBlock(structures, updated);
+        written(itemId);
+    }
+
+    // WRITE: Drop an item from the index
+    public synchronized void remove(Long itemId) {
+        delete(current, itemId);
+        written(itemId);
+    }
+
+    // READ: Indexed snapshot of one item, or null
+    public IndexedItem get(Long itemId) {
+        return current.documents.get(itemId);
+    }
+
+    public int size() {
+        return current.documents.size();
+    }
+
+    // BLOCK: Items of one category and status reported in [from, to], oldest first
+    public List<IndexedItem> block(Long categoryId, ItemStatus status, LocalDateTime from, LocalDateTime to) {
+        List<IndexedItem> items = new ArrayList<>();
+        Structures structures = current;
+        ConcurrentSkipListSet<DatedItem> block = structures.blocks.get(new Block(categoryId, status));
+        if (block == null || from == null || to == null) {
+            return items;
+        }
+        for (DatedItem entry : block.subSet(new DatedItem(from, Long.MIN_VALUE), true,
+                new DatedItem(to, Long.MAX_VALUE), true)) {
+            IndexedItem document = structures.documents.get(entry.itemId());
+            if (document != null) {
+                items.add(document);
+            }
+        }
+        return items;
+    }
+
+    // BLOCK: Every non-empty block, for jobs that walk the whole index one block at a time
+    public Set<Block> blocks() {
+        return Collections.unmodifiableSet(current.blocks.keySet());
+    }
+
+    // SEARCH: Ranked item IDs matching every clause, best first, at most limit results
+    public List<Long> search(List<Clause> clauses, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (Hit hit : top(match(current, clauses), limit)) {
+            ids.add(hit.itemId());
+        }
+        return ids;
+    }
+
+    // QUERY: One index lookup for text and filters; deduplicated, ranked and paginated
+    public ResultPage query(Query query, int page, int size) {
+        // One snapshot for the whole query, even if a rebuild swaps in a new one meanwhile
+        Structures structures = current;
+        Map<Long, Integer> candidates = match(structures, query.clauses());
+
+        Map<Long, Integer> scores = new HashMap<>();
+        if (candidates == null) {
+            // No text to match: every item passing the filters qualifies, newest first
+            for (IndexedItem document : filterCandidates(structures, query)) {
+                if (query.accepts(document)) {
+                    scores.put(document.itemId(), 0);
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Integer> candidate : candidates.entrySet()) {
+                if (query.accepts(structures.documents.get(candidate.getKey()))) {
+                    scores.put(candidate.getKey(), candidate.getValue());
+                }
+            }
+        }
+
+        // In long, so a huge page number cannot overflow; pages past the last hit are empty without ranking
+        long offset = (long) page * size;
+        if (offset >= scores.size()) {
+            return new ResultPage(new ArrayList<>(), scores.size());
+        }
+        List<Hit> ranked = top(scores, (int) Math.min(offset + size, scores.size()));
+        return new ResultPage(new ArrayList<>(ranked.subList((int) offset, ranked.size())), scores.size());
+    }
+
+    // Items a filter-only query has to look at. With a status or category filter that is the matching
+    // (category, status) blocks, cut to the date window; every stored item has a category, a status and a
+    // report date (NOT NULL columns), so none is missed. Otherwise every document.
+    private static Collection<IndexedItem> filterCandidates(Structures structures, Query query) {
+        if (query.status() == null && query.categoryId() == null) {
+            return structures.documents.values();
+        }
+        List<IndexedItem> items = new ArrayList<>();
+        for (Map.Entry<Block, ConcurrentSkipListSet<DatedItem>> entry : structures.blocks.entrySet()) {
+            Block block = entry.getKey();
+            if ((query.status() != null && block.status() != query.status())
+                    || (query.categoryId() != null && !query.categoryId().equals(block.categoryId()))) {
+                continue;
+            }
+            NavigableSet<DatedItem> window = entry.getValue();
+            if (query.from() != null) {
+                window = window.tailSet(new DatedItem(query.from(), Long.MIN_VALUE), true);
+            }
+            if (query.to() != null) {
+                window = window.headSet(new DatedItem(query.to(), Long.MIN_VALUE), false);
+            }
+            for (DatedItem dated : window) {
+                IndexedItem document = structures.documents.get(dated.itemId());
+                if (document != null) {
+                    items.add(document);
+                }
+            }
+        }
+        return items;
+    }
+
+    // SEARCH: Score every item that matches all tokens of all clauses (itemId -> score).
+    // Returns null when there is nothing to search for.
+    public Map<Long, Integer> match(List<Clause> clauses) {
+        return match(current, clauses);
+    }
+
+    private static Map<Long, Integer> match(Structures structures, List<Clause> clauses) {
+        Map<Long, Integer> scores = null;
+
+        for (Clause clause : clauses) {
+            if (clause == null || clause.fields() == null || clause.fields().isEmpty()) {
+                continue;
+            }
+            int fieldMask = 0;
+            for (Field field : clause.fields()) {
+                fieldMask |= field.bit();
+            }
+
+            for (String token : tokenize(clause.text())) {
+                Map<Long, Integer> tokenScores = matchToken(structures, token, fieldMask);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Intersection: keep items that also matched this token
+                    Map<Long, Integer> merged = new HashMap<>();
+                    Map<Long, Integer> smaller = scores.size() <= tokenScores.size() ? scores : tokenScores;
+                    Map<Long, Integer> larger = smaller == scores ? tokenScores : scores;
+                    for (Map.Entry<Long, Integer> entry : smaller.entrySet()) {
+                        Integer other = larger.get(entry.getKey());
+                        if (other != null) {
+                            merged.put(entry.getKey(), entry.getValue() + other);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return scores;
+                }
+            }
+        }
+
+        return scores;
+    }
+
+    // RANK: Best hits first; ties go to the most recently reported item
+    public List<Hit> top(Map<Long, Integer> scores, int limit) {
+        if (scores == null || scores.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Comparator<Hit> ranking = rankingOrder();
+        // Min-heap of the current top-N, so large candidate sets are never fully sorted
+        PriorityQueue<Hit> heap = new PriorityQueue<>(ranking.reversed());
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            Hit hit = new Hit(entry.getKey(), entry.getValue());
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (ranking.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    // Score > date reported > item id, all descending
+    public Comparator<Hit> rankingOrder() {
+        return Comparator.comparingInt(Hit::score).reversed()
+                .thenComparing(hit -> dateOf(hit.itemId()), Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Hit::itemId, Comparator.reverseOrder());
+    }
+
+    // Split text into lowercase letter/digit tokens
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Best score per item for one query token, over every indexed term it is a prefix of
+    private static Map<Long, Integer> matchToken(Structures structures, String token, int fieldMask) {
+        Map<Long, Integer> tokenScores = new HashMap<>();
+        ConcurrentNavigableMap<String, ConcurrentHashMap<Long, Integer>> range =
+                structures.postings.subMap(token, true, token + Character.MAX_VALUE, false);
+
+        for (Map.Entry<String, ConcurrentHashMap<Long, Integer>> term : range.entrySet()) {
+            // Whole-word matches count double compared to prefix matches
+            int multiplier = term.getKey().equals(token) ? 2 : 1;
+            for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                int mask = posting.getValue() & fieldMask;
+                if (mask == 0) {
+                    continue;
+                }
+                int score = weightOf(mask) * multiplier;
+                tokenScores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return tokenScores;
+    }
+
+    private static int weightOf(int mask) {
+        int weight = 0;
+        for (Field field : Field.values()) {
+            if ((mask & field.bit()) != 0) {
+                weight += field.getWeight();
+            }
+        }
+        return weight;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, Field field) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, field.bit(), (a, b) -> a | b);
+        }
+    }
+
+    private static void put(Structures structures, IndexedItem document) {
+        for (Map.Entry<String, Integer> term : document.terms().entrySet()) {
+            structures.postings.computeIfAbsent(term.getKey(), key -> new ConcurrentHashMap<>())
+                    .put(document.itemId(), term.getValue());
+        }
+        structures.documents.put(document.itemId(), document);
+        addToBlock(structures, document);
+    }
+
+    private static void delete(Structures structures, Long itemId) {
+        IndexedItem previous = structures.documents.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        removeFromBlock(structures, previous);
+        for (String term : previous.terms().keySet()) {
+            ConcurrentHashMap<Long, Integer> posting = structures.postings.get(term);
+            if (posting != null) {
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    structures.postings.remove(term, posting);
+                }
+            }
+        }
+    }
+
+    // Called by every writer, holding the lock
+    private void written(Long itemId) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(itemId);
+        }
+    }
+
+    private static void addToBlock(Structures structures, IndexedItem document) {
+        if (document.categoryId() == null || document.status() == null || document.dateReport() == null) {
+            return;
+        }
+        structures.blocks.computeIfAbsent(new Block(document.categoryId(), document.status()),
+                key -> new ConcurrentSkipListSet<>()).add(new DatedItem(document.dateReport(), document.itemId()));
+    }
+
+    private static void removeFromBlock(Structures structures, IndexedItem document) {
+        if (document.categoryId() == null || document.status() == null || document.dateReport() == null) {
+            return;
+        }
+        Block key = new Block(document.categoryId(), document.status());
+        ConcurrentSkipListSet<DatedItem> block = structures.blocks.get(key);
+        if (block != null) {
+            block.remove(new DatedItem(document.dateReport(), document.itemId()));
+            if (block.isEmpty()) {
+                structures.blocks.remove(key, block);
+            }
+        }
+    }
+
+    private LocalDateTime dateOf(Long itemId) {
+        IndexedItem document = current.documents.get(itemId);
+        return document != null ? document.dateReport() : null;
+    }
+}
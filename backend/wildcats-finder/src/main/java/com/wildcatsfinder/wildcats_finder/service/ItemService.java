@@ -1,29 +1,83 @@
 package com.wildcatsfinder.wildcats_finder.service;
 
+import com.wildcatsfinder.wildcats_finder.dto.ClaimStatusCount;
+import com.wildcatsfinder.wildcats_finder.dto.ItemCardView;
+import com.wildcatsfinder.wildcats_finder.dto.ItemDTO;
+import com.wildcatsfinder.wildcats_finder.dto.ItemSearchPageDTO;
 import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
 import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
 import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
 import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
 import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.repository.ClaimRepository;
 import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Hit;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.IndexedItem;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Query;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.ResultPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ItemService {
 
+    // Upper bound for the legacy "all items" dashboard endpoint; use the feed for anything larger
+    public static final int DASHBOARD_ITEM_CAP = 500;
+
+    // Page size limits for the keyset-paginated feed
+    public static final int FEED_DEFAULT_LIMIT = 20;
+    public static final int FEED_MAX_LIMIT = 100;
+
+    // Number of ranked search hits loaded from the database
+    public static final int SEARCH_RESULT_LIMIT = 50;
+
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ItemMatchService itemMatchService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
     // CREATE: Add a new item
     public ItemEntity createItem(ItemEntity item) {
-        return itemRepository.save(item);
+        ItemEntity savedItem = itemRepository.save(item);
+        indexItem(savedItem);
+        return savedItem;
     }
 
     // READ: Fetch all items
@@ -46,6 +100,12 @@ public class ItemService {
         return itemRepository.findByStatus(status);
     }
 
+    // READ: Item cards by status (projection, read-only)
+    @Transactional(readOnly = true)
+    public List<ItemCardView> getItemCardsByStatus(ItemStatus status) {
+        return itemRepository.findCardsByStatus(status);
+    }
+
     // READ: Fetch items by user (reporter)
     public List<ItemEntity> getItemsByUser(UserEntity user) {
         return itemRepository.findByUser_UserId(user.getUserId());
@@ -73,33 +133,12 @@ public class ItemService {
 
     // SEARCH: Find items by description containing search term
     public List<ItemEntity> searchItemsByDescription(String description) {
-        List<ItemEntity> items = itemRepository.findAll();
-        List<ItemEntity> matchingItems = new ArrayList<>();
-
-        // Loop through each item and check if description contains search term
-        for (ItemEntity item : items) {
-            if (item.getItemDesc() != null &&
-                    item.getItemDesc().toLowerCase().contains(description.toLowerCase())) {
-                matchingItems.add(item);
-            }
-        }
-
-        return matchingItems;
+        return itemRepository.findByItemDescContainingIgnoreCase(description);
     }
 
     // READ: Fetch items reported between two dates
     public List<ItemEntity> getItemsBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        List<ItemEntity> items = itemRepository.findAll();
-        List<ItemEntity> matchingItems = new ArrayList<>();
-
-        // Loop through each item and check if date is between start and end dates
-        for (ItemEntity item : items) {
-            if (item.getDateReport().isAfter(startDate) && item.getDateReport().isBefore(endDate)) {
-                matchingItems.add(item);
-            }
-        }
-
-        return matchingItems;
+        return itemRepository.findByDateReportAfterAndDateReportBefore(startDate, endDate);
     }
 
     // READ: Fetch items by user and status
@@ -121,17 +160,7 @@ public class ItemService {
     // READ: Fetch recent items (last 30 days)
     public List<ItemEntity> getRecentItems() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<ItemEntity> items = itemRepository.findAll();
-        List<ItemEntity> recentItems = new ArrayList<>();
-
-        // Loop through each item and check if it was reported in the last 30 days
-        for (ItemEntity item : items) {
-            if (item.getDateReport().isAfter(thirtyDaysAgo)) {
-                recentItems.add(item);
-            }
-        }
-
-        return recentItems;
+        return itemRepository.findByDateReportAfter(thirtyDaysAgo);
     }
 
     // UPDATE: Modify an existing item
@@ -144,6 +173,9 @@ public class ItemService {
         } else {
             throw new NoSuchElementException("Item " + id + " not found");
         }
+        // Read from the database, not the loaded item: under open-in-view the caller may already have
+        // changed this same managed instance
+        String previousImageUrl = itemRepository.findImageUrlById(id);
 
         // Update item fields
         item.setItemTitle(itemDetails.getItemTitle());
@@ -156,70 +188,307 @@ public class ItemService {
         item.setCategory(itemDetails.getCategory());
         item.setDepartment(itemDetails.getDepartment());
 
-        return itemRepository.save(item);
+        ItemEntity savedItem = itemRepository.save(item);
+        indexItem(savedItem);
+        if (previousImageUrl != null && !previousImageUrl.equals(savedItem.getImageUrl())) {
+            releaseImage(previousImageUrl);
+        }
+        return savedItem;
     }
 
-    // UPDATE: Change item status
+    // CLAIM: Move a FOUND item to CLAIMED. Safe under concurrency: the check and the write are one statement.
+    @Transactional
+    public void claimItem(Long id, Long claimantId) {
+        if (itemRepository.claimIfFound(id, claimantId) == 1) {
+            indexStatus(id, ItemStatus.CLAIMED);
+            return;
+        }
+
+        // Nothing changed; report why
+        ItemEntity item = getItemById(id);
+        if (item.getUser().getUserId().equals(claimantId)) {
+            throw new IllegalArgumentException("You cannot claim your own item");
+        }
+        throw new IllegalStateException("Only FOUND items can be claimed");
+    }
+
+    // PATCH: Update only the fields present (non-null) in the patch, in one UPDATE without loading the item.
+    // The reporter (userId) cannot be changed this way. With a version in the patch, a stale edit is rejected.
+    @Transactional
+    public void patchItem(Long id, ItemDTO patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.getItemTitle() != null) {
+            if (patch.getItemTitle().trim().isEmpty()) {
+                throw new IllegalArgumentException("Item title must not be empty");
+            }
+            changes.put("itemTitle", patch.getItemTitle());
+        }
+        if (patch.getItemDesc() != null) {
+            changes.put("itemDesc", patch.getItemDesc());
+        }
+        if (patch.getLocation() != null) {
+            changes.put("location", patch.getLocation());
+        }
+        if (patch.getImageUrl() != null) {
+            changes.put("imageUrl", patch.getImageUrl());
+        }
+        if (patch.getStatus() != null) {
+            try {
+                changes.put("status", ItemStatus.valueOf(patch.getStatus()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid status value: " + patch.getStatus());
+            }
+        }
+        if (patch.getDateReport() != null) {
+            try {
+                changes.put("dateReport", LocalDate.parse(patch.getDateReport()).atStartOfDay());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date format. Use yyyy-MM-dd");
+            }
+        }
+        if (patch.getCategoryId() != null) {
+            CategoryEntity category = referenceDataRegistry.getCategoryById(patch.getCategoryId());
+            if (category == null) {
+                throw new IllegalArgumentException("Category " + patch.getCategoryId() + " not found");
+            }
+            changes.put("category", category);
+        }
+        if (patch.getDepartmentId() != null) {
+            DepartmentEntity department = referenceDataRegistry.getDepartmentById(patch.getDepartmentId());
+            if (department == null) {
+                throw new IllegalArgumentException("Department " + patch.getDepartmentId() + " not found");
+            }
+            changes.put("department", department);
+        }
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+
+        String previousImageUrl = changes.containsKey("imageUrl") ? itemRepository.findImageUrlById(id) : null;
+
+        if (itemRepository.patchItem(id, changes, patch.getVersion()) == 0) {
+            if (!itemRepository.existsById(id)) {
+                throw new NoSuchElementException("Item " + id + " not found");
+            }
+            throw new OptimisticLockingFailureException("Item " + id + " was changed by someone else");
+        }
+
+        // Keep the search index in step: a status flip only touches the stored document, other indexed
+        // fields need the full row (the image is not indexed)
+        if (changes.keySet().equals(Set.of("status"))) {
+            indexStatus(id, (ItemStatus) changes.get("status"));
+        } else if (!changes.keySet().equals(Set.of("imageUrl"))) {
+            indexItem(getItemById(id));
+        }
+        if (previousImageUrl != null && !previousImageUrl.equals(patch.getImageUrl())) {
+            releaseImage(previousImageUrl);
+        }
+    }
+
+    // UPDATE: Change item status, returns the updated item
+    @Transactional
     public ItemEntity updateItemStatus(Long id, ItemStatus newStatus) {
-        // Check Optional explicitly and assign to a variable
-        ItemEntity item;
-        Optional<ItemEntity> optionalItem = itemRepository.findById(id);
-        if (optionalItem.isPresent()) {
-            item = optionalItem.get();
-        } else {
+        // Targeted UPDATE first; the item is only read back for the response
+        if (itemRepository.updateStatus(id, newStatus) == 0) {
             throw new NoSuchElementException("Item " + id + " not found");
         }
-
-        // Update only the status
-        item.setStatus(newStatus);
-        return itemRepository.save(item);
+        indexStatus(id, newStatus);
+        return getItemById(id);
     }
 
     // DELETE: Remove an item
     public String deleteItem(Long id) {
-        if (itemRepository.findById(id).isPresent()) {
+        Optional<ItemEntity> item = itemRepository.findById(id);
+        if (item.isPresent()) {
+            // The item's claims are deleted with it
+            List<ClaimStatusCount> claims = claimRepository.countByStatusAndVerifiedForItems(List.of(id));
             itemRepository.deleteById(id);
+            unindexItem(id);
+            statisticsService.claimsRemoved(claims);
+            releaseImage(item.get().getImageUrl());
             return "Item " + id + " is successfully deleted!";
         } else {
             return "Item " + id + " does not exist.";
         }
     }
 
-    // DASHBOARD: Get all items for Item Cards
+    // CASCADE: Items about to be deleted along with their category or department. Called in the deleting
+    // transaction, before the delete: their claims are counted now, and the items leave the index and the
+    // counters once it commits. Their image files are left to the orphan sweeper.
+    public void itemsCascadeDeleted(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        statisticsService.claimsRemoved(claimRepository.countByStatusAndVerifiedForItems(itemIds));
+        for (Long itemId : itemIds) {
+            unindexItem(itemId);
+        }
+    }
+
+    // Every item write ends in one of these three, so the search index, the dashboard counters, the
+    // matcher and the live event stream all see the indexed state before and after the change.
+    // Inside a transaction the change is applied once it commits (a rollback never reaches them), outside
+    // of one right away.
+    private void indexItem(ItemEntity item) {
+        // Built now, while the item and its category and department are at hand
+        IndexedItem document = itemSearchIndex.document(item);
+        if (document != null) {
+            afterCommit(() -> applyToIndex(document.itemId(), () -> itemSearchIndex.index(document)));
+        }
+    }
+
+    private void indexStatus(Long id, ItemStatus status) {
+        afterCommit(() -> applyToIndex(id, () -> itemSearchIndex.updateStatus(id, status)));
+    }
+
+    private void unindexItem(Long id) {
+        afterCommit(() -> applyToIndex(id, () -> itemSearchIndex.remove(id)));
+    }
+
+    private void applyToIndex(Long id, Runnable write) {
+        IndexedItem before;
+        IndexedItem after;
+        // Index writes lock the index, so before and after belong to this write even when two commit at once
+        synchronized (itemSearchIndex) {
+            before = itemSearchIndex.get(id);
+            write.run();
+            after = itemSearchIndex.get(id);
+        }
+        statisticsService.itemChanged(before, after);
+        itemMatchService.itemChanged(before, after);
+        liveUpdateService.itemChanged(before, after);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // Stored images are shared between items with identical photos; the file goes away with its last reference.
+    // Runs once the item change has committed, so the count no longer includes it and a rolled back change
+    // never loses its file. Files whose release is skipped are left to OrphanFileSweeper.
+    private void releaseImage(String imageUrl) {
+        String filename = FileStorageService.filenameFromImageUrl(imageUrl);
+        if (filename == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // The committed transaction's resources are still bound to this thread
+                    Thread.ofVirtual().name("image-release").start(() -> deleteIfUnreferenced(imageUrl, filename));
+                }
+            });
+        } else {
+            deleteIfUnreferenced(imageUrl, filename);
+        }
+    }
+
+    private void deleteIfUnreferenced(String imageUrl, String filename) {
+        try {
+            if (itemRepository.countByImageUrl(imageUrl) == 0) {
+                fileStorageService.deleteUnreferencedFile(filename);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The item change already succeeded; a leftover file only costs disk space until the next sweep
+        }
+    }
+
+    // DASHBOARD: Get the newest items for Item Cards (capped, kept for older clients)
     public List<ItemEntity> getAllItemsForDashboard() {
-        return itemRepository.findAll();
+        return itemRepository.findFeedFirstPage(PageRequest.of(0, DASHBOARD_ITEM_CAP));
+    }
+
+    // DASHBOARD: Newest item cards (projection, read-only, same cap as above)
+    @Transactional(readOnly = true)
+    public List<ItemCardView> getItemCardsForDashboard() {
+        return itemRepository.findCards(PageRequest.of(0, DASHBOARD_ITEM_CAP));
+    }
+
+    // DASHBOARD: Keyset-paginated feed, newest first.
+    // Pass a null cursor for the first page; otherwise rows strictly after (afterDate, afterId) are returned.
+    public List<ItemEntity> getItemFeed(LocalDateTime afterDate, Long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (afterDate == null || afterId == null) {
+            return itemRepository.findFeedFirstPage(page);
+        }
+        return itemRepository.findFeedAfter(afterDate, afterId, page);
     }
 
     // REPORT: Report a lost item
     public ItemEntity reportLostItem(ItemEntity item) {
         item.setStatus(ItemStatus.LOST);
         item.setDateReport(LocalDateTime.now());
-        return itemRepository.save(item);
+        ItemEntity savedItem = itemRepository.save(item);
+        indexItem(savedItem);
+        return savedItem;
     }
 
     // REPORT: Report a found item
     public ItemEntity reportFoundItem(ItemEntity item) {
         item.setStatus(ItemStatus.FOUND);
         item.setDateReport(LocalDateTime.now());
-        return itemRepository.save(item);
+        ItemEntity savedItem = itemRepository.save(item);
+        indexItem(savedItem);
+        return savedItem;
+    }
+
+    // SEARCH: Combined search for frontend.
+    // Ranked through the in-memory index; only the top hits are loaded from the database.
+    // When several terms are given an item has to match all of them.
+    public List<ItemEntity> searchItems(String query, String title, String location) {
+        boolean hasText = (query != null && !query.isBlank())
+                || (title != null && !title.isBlank())
+                || (location != null && !location.isBlank());
+        if (!hasText) {
+            return getAllItemsForDashboard();
+        }
+
+        Query search = new Query(query, title, location, null, null, null, null, null);
+        ItemSearchPageDTO page = queryItems(search, 0, SEARCH_RESULT_LIMIT);
+        List<ItemEntity> items = new ArrayList<>();
+        for (ItemSearchPageDTO.Result result : page.getResults()) {
+            items.add(result.getItem());
+        }
+        return items;
     }
 
-    // SEARCH: Combined search for frontend
+    // SEARCH: Title/location search (kept for existing callers)
     public List<ItemEntity> searchItems(String title, String location) {
-        if (title != null && location != null) {
-            // Search by both title and location
-            List<ItemEntity> titleResults = itemRepository.findByItemTitleContainingIgnoreCase(title);
-            List<ItemEntity> locationResults = itemRepository.findByLocationContainingIgnoreCase(location);
-            // Combine results ( // ?: Intersection Logic// )
-            titleResults.addAll(locationResults);
-            return titleResults;
-        } else if (title != null) {
-            return itemRepository.findByItemTitleContainingIgnoreCase(title);
-        } else if (location != null) {
-            return itemRepository.findByLocationContainingIgnoreCase(location);
-        } else {
-            return itemRepository.findAll();
+        return searchItems(null, title, location);
+    }
+
+    // QUERY: Text, status, category, department and date window in one index lookup.
+    // Results are deduplicated, scored and paginated; only the requested page is loaded from the database.
+    public ItemSearchPageDTO queryItems(Query query, int page, int size) {
+        ResultPage resultPage = itemSearchIndex.query(query, page, size);
+
+        List<Long> ids = new ArrayList<>();
+        for (Hit hit : resultPage.hits()) {
+            ids.add(hit.itemId());
+        }
+        Map<Long, ItemEntity> byId = new HashMap<>();
+        for (ItemEntity item : itemRepository.findByItemIdIn(ids)) {
+            byId.put(item.getItemId(), item);
+        }
+
+        List<ItemSearchPageDTO.Result> results = new ArrayList<>();
+        for (Hit hit : resultPage.hits()) {
+            ItemEntity item = byId.get(hit.itemId());
+            if (item != null) {
+                results.add(new ItemSearchPageDTO.Result(item, hit.score()));
+            }
         }
+        return new ItemSearchPageDTO(results, resultPage.total(), page, size);
     }
 
     // USER ITEMS: Get items reported by a specific user
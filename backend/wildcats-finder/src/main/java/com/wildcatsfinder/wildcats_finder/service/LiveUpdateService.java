@@ -0,0 +1,347 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.dto.LiveEventDTO;
+import com.wildcatsfinder.wildcats_finder.entity.ClaimEntity;
+import com.wildcatsfinder.wildcats_finder.repository.ClaimRepository;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.IndexedItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Live item and claim updates for GET /api/events/stream (server-sent events).
+// ItemService reports item changes once they have committed; ClaimService publishes a LiveEvent for every
+// claim change, delivered once it commits (right away outside a transaction) and dropped on rollback.
+// One background thread fills in the item details from the search index and hands the event to every
+// subscriber whose filter accepts it.
+// Each subscriber has a bounded buffer drained by its own virtual thread, so a slow client never holds up the
+// others: when its buffer is full it is disconnected, and on reconnect (Last-Event-ID) it gets the events it
+// missed from a short replay window. Only the subscriber's own thread writes to or completes its stream, since
+// both wait for a write stuck on a slow socket.
+@Service
+public class LiveUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    // Event names, as sent in the "event:" field
+    public static final String ITEM_CREATED = "item-created";
+    public static final String ITEM_STATUS_CHANGED = "item-status-changed";
+    public static final String CLAIM_FILED = "claim-filed";
+    public static final String CLAIM_APPROVED = "claim-approved";
+    public static final String CLAIM_REJECTED = "claim-rejected";
+
+    public static final Set<String> EVENT_TYPES =
+            Set.of(ITEM_CREATED, ITEM_STATUS_CHANGED, CLAIM_FILED, CLAIM_APPROVED, CLAIM_REJECTED);
+
+    // Application event published by the services; itemId may be null for claim updates that never load the claim
+    public record LiveEvent(String type, Long itemId, Long claimId, String status) {
+    }
+
+    // What one subscriber wants to see; null or empty parts match everything
+    public record Filter(Set<String> types, String status, Long categoryId, Long departmentId) {
+        boolean accepts(LiveEventDTO event) {
+            if (types != null && !types.isEmpty() && !types.contains(event.type())) {
+                return false;
+            }
+            if (status != null && !status.equalsIgnoreCase(event.status())) {
+                return false;
+            }
+            if (categoryId != null && !categoryId.equals(event.categoryId())) {
+                return false;
+            }
+            if (departmentId != null && !departmentId.equals(event.departmentId())) {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Events a subscriber may fall behind by before it is disconnected
+    @Value("${live.buffer-size:64}")
+    private int bufferSize;
+
+    // Recent events kept for clients that reconnect with Last-Event-ID
+    @Value("${live.replay-size:500}")
+    private int replaySize;
+
+    // Streams are closed after this long; EventSource reconnects on its own
+    @Value("${live.emitter-timeout:PT30M}")
+    private Duration emitterTimeout;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Guards the replay window and keeps replay + registration atomic with respect to new events
+    private final Object lock = new Object();
+    private final Deque<LiveEventDTO> recent = new ArrayDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Set once the application is closing; later subscribers are turned away
+    private volatile boolean closing;
+
+    private final ExecutorService broadcaster =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("live-events").factory());
+
+    private Counter eventsCounter;
+    private Counter evictionsCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        eventsCounter = Counter.builder("live.events")
+                .description("Events broadcast to stream subscribers").register(meterRegistry);
+        evictionsCounter = Counter.builder("live.subscribers.evicted")
+                .description("Subscribers disconnected because their buffer was full").register(meterRegistry);
+        Gauge.builder("live.subscribers", subscribers, List::size)
+                .description("Open event streams").register(meterRegistry);
+    }
+
+    // ---- Publishing (called by ItemService and ClaimService) ----
+
+    // Item created, or its status changed, according to the indexed state before and after the write.
+    // Called after the commit (from ItemService's own synchronization, where a newly published transactional
+    // event would never fire), so the event goes straight to the broadcaster.
+    public void itemChanged(IndexedItem before, IndexedItem after) {
+        if (after == null || after.status() == null) {
+            return;
+        }
+        if (before == null) {
+            onCommitted(new LiveEvent(ITEM_CREATED, after.itemId(), null, after.status().name()));
+        } else if (before.status() != after.status()) {
+            onCommitted(new LiveEvent(ITEM_STATUS_CHANGED, after.itemId(), null, after.status().name()));
+        }
+    }
+
+    public void claimFiled(ClaimEntity claim) {
+        Long itemId = claim.getItem() != null ? claim.getItem().getItemId() : null;
+        publish(CLAIM_FILED, itemId, claim.getClaimId(), claim.getStatus());
+    }
+
+    // Only approvals and rejections are events; itemId may be null
+    public void claimStatusChanged(Long claimId, Long itemId, String status) {
+        if ("APPROVED".equals(status)) {
+            publish(CLAIM_APPROVED, itemId, claimId, status);
+        } else if ("REJECTED".equals(status)) {
+            publish(CLAIM_REJECTED, itemId, claimId, status);
+        }
+    }
+
+    private void publish(String type, Long itemId, Long claimId, String status) {
+        applicationEventPublisher.publishEvent(new LiveEvent(type, itemId, claimId, status));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(LiveEvent event) {
+        broadcaster.execute(() -> broadcast(event));
+    }
+
+    // ---- Subscribing ----
+
+    // SUBSCRIBE: New stream; events after lastEventId (if still in the replay window) are sent first
+    public SseEmitter subscribe(Filter filter, Long lastEventId) {
+        return subscribe(new SseEmitter(emitterTimeout.toMillis()), filter, lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Filter filter, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, filter, new ArrayBlockingQueue<>(Math.max(1, bufferSize)));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        // Sent right away so the response (and EventSource.onopen) does not wait for the first event
+        subscriber.buffer.offer(SseEmitter.event().comment("connected"));
+        synchronized (lock) {
+            if (closing) {
+                emitter.complete();
+                return emitter;
+            }
+            if (lastEventId != null) {
+                for (LiveEventDTO event : recent) {
+                    if (event.id() > lastEventId && filter.accepts(event) && !subscriber.buffer.offer(toSse(event))) {
+                        break;
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.start();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Comment lines keep proxies from closing idle streams and reveal clients that went away
+    @Scheduled(fixedDelayString = "${live.heartbeat-interval:PT15S}",
+            initialDelayString = "${live.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            deliver(subscriber, SseEmitter.event().comment("keepalive"));
+        }
+    }
+
+    // Streams stay open for up to live.emitter-timeout, and Tomcat's graceful shutdown waits for open requests.
+    // ContextClosedEvent comes before the web server stops, so ending the streams here lets it stop right away.
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        synchronized (lock) {
+            closing = true;
+        }
+        // Each subscriber's thread completes its stream once it stops
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closeStreams();
+        broadcaster.shutdownNow();
+    }
+
+    private void broadcast(LiveEvent event) {
+        try {
+            LiveEventDTO dto = describe(event);
+            synchronized (lock) {
+                recent.addLast(dto);
+                while (recent.size() > Math.max(0, replaySize)) {
+                    recent.removeFirst();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.filter.accepts(dto)) {
+                        deliver(subscriber, toSse(dto));
+                    }
+                }
+            }
+            eventsCounter.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast {} event: {}", event.type(), e.getMessage());
+        }
+    }
+
+    // Item details from the search index; claim events from targeted updates first look up their item id
+    private LiveEventDTO describe(LiveEvent event) {
+        Long itemId = event.itemId();
+        if (itemId == null && event.claimId() != null) {
+            itemId = claimRepository.findItemIdByClaimId(event.claimId()).orElse(null);
+        }
+        IndexedItem item = itemId != null ? itemSearchIndex.get(itemId) : null;
+        return new LiveEventDTO(sequence.incrementAndGet(), event.type(), itemId, event.claimId(), event.status(),
+                item != null ? item.itemTitle() : null,
+                item != null ? item.location() : null,
+                item != null ? item.categoryId() : null,
+                item != null ? item.categoryName() : null,
+                item != null ? item.departmentId() : null,
+                item != null ? item.departmentName() : null,
+                LocalDateTime.now());
+    }
+
+    // A full buffer means the client is not keeping up: disconnect it, it resumes from Last-Event-ID.
+    // Its thread completes the stream, so the caller (holding the lock) never waits for the slow write.
+    private void deliver(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.buffer.offer(event) && remove(subscriber)) {
+            evictionsCounter.increment();
+            log.debug("Disconnected a slow event stream subscriber");
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriber.close();
+        return true;
+    }
+
+    // Builders are single-use, so every subscriber gets its own
+    private static SseEmitter.SseEventBuilder toSse(LiveEventDTO event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.id()))
+                .name(event.type())
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    // One open stream: its filter, its buffer and the virtual thread that writes the buffer to the client
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Filter filter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private volatile Thread sender;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Filter filter, BlockingQueue<SseEmitter.SseEventBuilder> buffer) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.buffer = buffer;
+        }
+
+        void start() {
+            // Published before it runs, so close() can always interrupt it
+            sender = Thread.ofVirtual().name("live-events-subscriber").unstarted(this::drain);
+            sender.start();
+        }
+
+        void close() {
+            closed = true;
+            Thread thread = sender;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    emitter.send(buffer.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream was already completed
+                remove(this);
+            } finally {
+                // Waits for a send still in progress elsewhere in the response; only this subscriber waits
+                emitter.complete();
+            }
+        }
+    }
+}
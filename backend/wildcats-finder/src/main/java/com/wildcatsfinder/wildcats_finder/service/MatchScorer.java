@@ -0,0 +1,113 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Field;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.IndexedItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Similarity of a LOST and a FOUND report, from their search index documents (no database access).
+// Score is 0..1: title and description token overlap, how near the two departments are, location
+// overlap, and how close the two report dates are. Pairs without any shared title/description token
+// or further apart than the date window score 0.
+// Category is not scored: candidates are always drawn from the same category (the matcher's block key).
+// Department proximity has two tiers: the same department scores in full, two departments housed in the
+// same building (DepartmentEntity.location) score half.
+@Component
+public class MatchScorer {
+
+    private static final double TITLE_WEIGHT = 0.40;
+    private static final double DESCRIPTION_WEIGHT = 0.15;
+    private static final double DEPARTMENT_WEIGHT = 0.15;
+    private static final double SAME_BUILDING_SHARE = 0.5;
+    private static final double LOCATION_WEIGHT = 0.10;
+    private static final double DATE_WEIGHT = 0.20;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    private final Duration window;
+
+    public MatchScorer(@Value("${matching.window-days:60}") long windowDays) {
+        this.window = Duration.ofDays(windowDays);
+    }
+
+    // How far apart two reports may be to count as candidates
+    public Duration getWindow() {
+        return window;
+    }
+
+    public double score(IndexedItem lost, IndexedItem found) {
+        if (lost == null || found == null || lost.dateReport() == null || found.dateReport() == null) {
+            return 0;
+        }
+        Duration apart = Duration.between(lost.dateReport(), found.dateReport()).abs();
+        if (apart.compareTo(window) > 0) {
+            return 0;
+        }
+
+        double title = overlap(lost.terms(), found.terms(), Field.TITLE.bit());
+        double text = overlap(lost.terms(), found.terms(), Field.TITLE.bit() | Field.DESCRIPTION.bit());
+        if (text == 0) {
+            return 0;
+        }
+
+        double score = TITLE_WEIGHT * title + DESCRIPTION_WEIGHT * text;
+        score += DEPARTMENT_WEIGHT * departmentProximity(lost.departmentId(), found.departmentId());
+        score += LOCATION_WEIGHT * overlap(lost.terms(), found.terms(), Field.LOCATION.bit());
+        score += DATE_WEIGHT * (1.0 - (double) apart.toMinutes() / Math.max(1, window.toMinutes()));
+        return score;
+    }
+
+    // 1 for the same department, SAME_BUILDING_SHARE for two departments in the same building, else 0.
+    // Buildings come from the in-memory reference data, so this stays free of database access too.
+    double departmentProximity(Long lostDepartmentId, Long foundDepartmentId) {
+        if (lostDepartmentId == null || foundDepartmentId == null) {
+            return 0;
+        }
+        if (lostDepartmentId.equals(foundDepartmentId)) {
+            return 1;
+        }
+        String lostBuilding = buildingOf(lostDepartmentId);
+        return lostBuilding != null && lostBuilding.equalsIgnoreCase(buildingOf(foundDepartmentId))
+                ? SAME_BUILDING_SHARE : 0;
+    }
+
+    private String buildingOf(Long departmentId) {
+        DepartmentEntity department = referenceDataRegistry.getDepartmentById(departmentId);
+        if (department == null || department.getLocation() == null || department.getLocation().isBlank()) {
+            return null;
+        }
+        return department.getLocation().trim();
+    }
+
+    // Dice coefficient of the two token sets found in the given fields; walks the term maps directly,
+    // since the rematch job calls this for millions of pairs
+    private static double overlap(Map<String, Integer> a, Map<String, Integer> b, int fieldMask) {
+        int left = 0;
+        int shared = 0;
+        for (Map.Entry<String, Integer> term : a.entrySet()) {
+            if ((term.getValue() & fieldMask) != 0) {
+                left++;
+                Integer other = b.get(term.getKey());
+                if (other != null && (other & fieldMask) != 0) {
+                    shared++;
+                }
+            }
+        }
+        if (shared == 0) {
+            return 0;
+        }
+        int right = 0;
+        for (Integer fields : b.values()) {
+            if ((fields & fieldMask) != 0) {
+                right++;
+            }
+        }
+        return 2.0 * shared / (left + right);
+    }
+}
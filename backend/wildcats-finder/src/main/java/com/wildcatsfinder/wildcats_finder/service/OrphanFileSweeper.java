@@ -0,0 +1,103 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Periodic removal of stored images that no item references: uploads that never made it into a report,
+// and files whose release was skipped because a duplicate upload had just touched them (or that failed).
+// Only files untouched for file.orphan-grace-seconds are looked at, so an upload about to be referenced
+// is left alone. References are checked in batches with one IN query each.
+@Service
+public class OrphanFileSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanFileSweeper.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter deletedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        deletedCounter = Counter.builder("files.orphans.deleted")
+                .description("Unreferenced stored images removed by the sweeper").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${file.orphan-sweep-interval:PT1H}",
+            initialDelayString = "${file.orphan-sweep-interval:PT1H}")
+    public void scheduledSweep() {
+        try {
+            int deleted = sweep();
+            if (deleted > 0) {
+                log.info("Removed {} unreferenced image files", deleted);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Orphan file sweep failed: {}", e.getMessage());
+        }
+    }
+
+    // SWEEP: Delete every expired file no item references; returns the number deleted
+    public synchronized int sweep() throws IOException {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        int[] deleted = {0};
+        fileStorageService.forEachExpiredFile(filename -> {
+            batch.add(filename);
+            if (batch.size() >= BATCH_SIZE) {
+                deleted[0] += deleteUnreferenced(batch);
+                batch.clear();
+            }
+        });
+        deleted[0] += deleteUnreferenced(batch);
+        deletedCounter.increment(deleted[0]);
+        return deleted[0];
+    }
+
+    private int deleteUnreferenced(List<String> filenames) {
+        if (filenames.isEmpty()) {
+            return 0;
+        }
+        List<String> imageUrls = new ArrayList<>(filenames.size());
+        for (String filename : filenames) {
+            imageUrls.add(FileStorageService.IMAGE_URL_PREFIX + filename);
+        }
+        Set<String> referenced = new HashSet<>(itemRepository.findReferencedImageUrls(imageUrls));
+
+        int deleted = 0;
+        for (int i = 0; i < filenames.size(); i++) {
+            String imageUrl = imageUrls.get(i);
+            // Checked again right before deleting, in case an item picked the file up since the batch query
+            if (referenced.contains(imageUrl) || itemRepository.countByImageUrl(imageUrl) > 0) {
+                continue;
+            }
+            try {
+                if (fileStorageService.deleteUnreferencedFile(filenames.get(i))) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.debug("Could not delete {}: {}", filenames.get(i), e.getMessage());
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,187 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.repository.CategoryRepository;
+import com.wildcatsfinder.wildcats_finder.repository.DepartmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// In-memory copy of the categories and departments tables.
+// Readers use an immutable snapshot without locking; every create/update/delete builds a new snapshot
+// (copy-on-write), so lookups on the item report path never reach the database.
+// The cached entities are detached copies and must be treated as read-only.
+@Service
+public class ReferenceDataRegistry {
+
+    // A cached row plus its lowercased search keys
+    private record Entry<T>(T value, String lowerName, String lowerLocation) {
+    }
+
+    private record Snapshot(
+            List<CategoryEntity> categories,
+            Map<Long, CategoryEntity> categoriesById,
+            Map<String, CategoryEntity> categoriesByName,
+            List<Entry<CategoryEntity>> categoryEntries,
+            List<DepartmentEntity> departments,
+            Map<Long, DepartmentEntity> departmentsById,
+            Map<String, DepartmentEntity> departmentsByName,
+            Map<String, List<DepartmentEntity>> departmentsByLocation,
+            List<Entry<DepartmentEntity>> departmentEntries) {
+    }
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private volatile Snapshot snapshot;
+
+    // ---- Categories ----
+
+    public List<CategoryEntity> getCategories() {
+        return snapshot().categories();
+    }
+
+    public CategoryEntity getCategoryById(Long id) {
+        return snapshot().categoriesById().get(id);
+    }
+
+    public CategoryEntity getCategoryByName(String categoryName) {
+        return snapshot().categoriesByName().get(categoryName);
+    }
+
+    public List<CategoryEntity> searchCategoriesByName(String searchTerm) {
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        List<CategoryEntity> matches = new ArrayList<>();
+        for (Entry<CategoryEntity> entry : snapshot().categoryEntries()) {
+            if (entry.lowerName().contains(term)) {
+                matches.add(entry.value());
+            }
+        }
+        return matches;
+    }
+
+    // ---- Departments ----
+
+    public List<DepartmentEntity> getDepartments() {
+        return snapshot().departments();
+    }
+
+    public DepartmentEntity getDepartmentById(Long id) {
+        return snapshot().departmentsById().get(id);
+    }
+
+    public DepartmentEntity getDepartmentByName(String depName) {
+        return snapshot().departmentsByName().get(depName);
+    }
+
+    public List<DepartmentEntity> getDepartmentsByLocation(String location) {
+        return snapshot().departmentsByLocation().getOrDefault(location, Collections.emptyList());
+    }
+
+    public List<DepartmentEntity> searchDepartmentsByName(String searchTerm) {
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        List<DepartmentEntity> matches = new ArrayList<>();
+        for (Entry<DepartmentEntity> entry : snapshot().departmentEntries()) {
+            if (entry.lowerName().contains(term)) {
+                matches.add(entry.value());
+            }
+        }
+        return matches;
+    }
+
+    public List<DepartmentEntity> searchDepartmentsByLocation(String searchTerm) {
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        List<DepartmentEntity> matches = new ArrayList<>();
+        for (Entry<DepartmentEntity> entry : snapshot().departmentEntries()) {
+            if (entry.lowerLocation() != null && entry.lowerLocation().contains(term)) {
+                matches.add(entry.value());
+            }
+        }
+        return matches;
+    }
+
+    // ---- Invalidation ----
+
+    // Rebuild the snapshot after a category or department was created, updated or deleted
+    public synchronized void refresh() {
+        snapshot = load();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<CategoryEntity> categories = new ArrayList<>();
+        Map<Long, CategoryEntity> categoriesById = new HashMap<>();
+        Map<String, CategoryEntity> categoriesByName = new HashMap<>();
+        List<Entry<CategoryEntity>> categoryEntries = new ArrayList<>();
+        for (CategoryEntity row : categoryRepository.findAll()) {
+            CategoryEntity category = new CategoryEntity(row.getCategoryName(), row.getCatDescription());
+            category.setCategoryId(row.getCategoryId());
+
+            categories.add(category);
+            categoriesById.put(category.getCategoryId(), category);
+            // Keep the first row for a duplicated name, like the old linear scan did
+            categoriesByName.putIfAbsent(category.getCategoryName(), category);
+            categoryEntries.add(new Entry<>(category, lower(category.getCategoryName()), null));
+        }
+
+        List<DepartmentEntity> departments = new ArrayList<>();
+        Map<Long, DepartmentEntity> departmentsById = new HashMap<>();
+        Map<String, DepartmentEntity> departmentsByName = new HashMap<>();
+        Map<String, List<DepartmentEntity>> departmentsByLocation = new LinkedHashMap<>();
+        List<Entry<DepartmentEntity>> departmentEntries = new ArrayList<>();
+        for (DepartmentEntity row : departmentRepository.findAll()) {
+            DepartmentEntity department = new DepartmentEntity(row.getDepName(), row.getLocation());
+            department.setDepId(row.getDepId());
+
+            departments.add(department);
+            departmentsById.put(department.getDepId(), department);
+            departmentsByName.putIfAbsent(department.getDepName(), department);
+            if (department.getLocation() != null) {
+                departmentsByLocation.computeIfAbsent(department.getLocation(), key -> new ArrayList<>()).add(department);
+            }
+            departmentEntries.add(new Entry<>(department, lower(department.getDepName()), lower(department.getLocation())));
+        }
+
+        Map<String, List<DepartmentEntity>> locationLists = new HashMap<>();
+        departmentsByLocation.forEach((location, list) -> locationLists.put(location, List.copyOf(list)));
+
+        return new Snapshot(
+                List.copyOf(categories),
+                Map.copyOf(categoriesById),
+                Map.copyOf(categoriesByName),
+                List.copyOf(categoryEntries),
+                List.copyOf(departments),
+                Map.copyOf(departmentsById),
+                Map.copyOf(departmentsByName),
+                Map.copyOf(locationLists),
+                List.copyOf(departmentEntries));
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,354 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.service.ItemMatchService.Match;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Block;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.IndexedItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Offline rematch of every open LOST and FOUND item, e.g. after the scoring rules change or after a bulk
+// import (the synthetic data generator bypasses ItemService, so seeded items have no matches until this runs).
+//
+// The search index blocks are cut into partitions of one category, one status and one date bucket, and a
+// ForkJoinPool scores the partitions in parallel with the same top-k rule as the incremental matcher.
+// Every scored partition goes through a bounded queue to the calling thread, which replaces that partition's
+// rows in one transaction (delete by owner, then JDBC batch inserts), so readers see an item's old list or its
+// new one, never none or half of it, and memory stays bounded by a few partitions. Rows of owners the run did
+// not rewrite (items no longer open) are deleted at the end. The job holds the matcher's write lock, so
+// incremental rematches queued meanwhile run afterwards, on the rebuilt table.
+@Service
+public class RematchJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RematchJob.class);
+
+    // Rows older than the run belong to owners it did not rewrite
+    static final String DELETE_STALE_SQL = "DELETE FROM item_matches WHERE matched_at < ?";
+
+    private static final long PROGRESS_LOG_INTERVAL_MS = 5000;
+
+    public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+    // Snapshot of the current (or last) run
+    public record Progress(State state, LocalDateTime startedAt, LocalDateTime finishedAt,
+            int partitions, int partitionsDone, long itemsTotal, long itemsScored,
+            long matchesWritten, double itemsPerSecond, String error) {
+    }
+
+    // Items of one category and status reported in [from, to)
+    record Partition(Long categoryId, ItemStatus status, LocalDateTime from, LocalDateTime to) {
+    }
+
+    // A scored partition: its items and their top matches, written together
+    record Scored(List<Long> itemIds, List<Match> matches) {
+    }
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ItemMatchService itemMatchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${matching.rematch.bucket-days:30}")
+    private int bucketDays;
+
+    @Value("${matching.rematch.batch-size:1000}")
+    private int batchSize;
+
+    // Scoring threads; 0 = one per available processor
+    @Value("${matching.rematch.parallelism:0}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Live counters of the current run, read by getProgress()
+    private volatile State state = State.IDLE;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile int partitionCount;
+    private volatile long itemsTotal;
+    private final AtomicInteger partitionsDone = new AtomicInteger();
+    private final AtomicLong itemsScored = new AtomicLong();
+    private final AtomicLong matchesWritten = new AtomicLong();
+
+    private Timer duration;
+    private Counter itemsCounter;
+    private Counter matchesCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        duration = Timer.builder("matching.rematch.duration")
+                .description("Duration of full rematch runs").register(meterRegistry);
+        itemsCounter = Counter.builder("matching.rematch.items")
+                .description("Items scored by rematch runs").register(meterRegistry);
+        matchesCounter = Counter.builder("matching.rematch.matches")
+                .description("Match rows written by rematch runs").register(meterRegistry);
+        Gauge.builder("matching.rematch.progress", this, job -> job.fractionDone())
+                .description("Fraction of partitions scored by the current run").register(meterRegistry);
+    }
+
+    // START: Run in the background; throws IllegalStateException if a run is in progress
+    public Progress start() {
+        claim();
+        Thread.ofVirtual().name("rematch-job").start(this::execute);
+        return getProgress();
+    }
+
+    // RUN: Run on the calling thread and return the final progress
+    public Progress run() {
+        claim();
+        execute();
+        return getProgress();
+    }
+
+    public Progress getProgress() {
+        long scored = itemsScored.get();
+        LocalDateTime started = startedAt;
+        double perSecond = 0;
+        if (started != null) {
+            LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(started, end).toMillis());
+            perSecond = scored * 1000.0 / millis;
+        }
+        return new Progress(state, started, finishedAt, partitionCount, partitionsDone.get(), itemsTotal,
+                scored, matchesWritten.get(), perSecond, error);
+    }
+
+    private void claim() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rematch is already running");
+        }
+        partitionsDone.set(0);
+        itemsScored.set(0);
+        matchesWritten.set(0);
+        partitionCount = 0;
+        itemsTotal = 0;
+        error = null;
+        finishedAt = null;
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    private void execute() {
+        long start = System.nanoTime();
+        try {
+            itemMatchService.exclusive(() -> {
+                rebuild();
+                return null;
+            });
+            state = State.COMPLETED;
+        } catch (RuntimeException e) {
+            log.error("Rematch failed", e);
+            error = e.getMessage();
+            state = State.FAILED;
+        } finally {
+            finishedAt = LocalDateTime.now();
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+
+        Progress progress = getProgress();
+        log.info("Rematch {}: {} items in {} partitions, {} matches, {} items/s", progress.state(),
+                progress.itemsScored(), progress.partitions(), progress.matchesWritten(),
+                Math.round(progress.itemsPerSecond()));
+    }
+
+    private void rebuild() {
+        List<Partition> partitions = plan();
+        partitionCount = partitions.size();
+        log.info("Rematching {} open items in {} partitions", itemsTotal, partitions.size());
+
+        // Whole seconds, as DATETIME columns store them, so this run's rows never compare older than the run
+        Timestamp matchedAt = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        if (!partitions.isEmpty()) {
+            score(partitions, matchedAt);
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(DELETE_STALE_SQL, matchedAt));
+    }
+
+    private void score(List<Partition> partitions, Timestamp matchedAt) {
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : new ForkJoinPool();
+        BlockingQueue<Scored> queue = new ArrayBlockingQueue<>(pool.getParallelism() * 2);
+        try {
+            ForkJoinTask<Void> scoring = pool.submit(new PartitionTask(partitions, 0, partitions.size(), queue));
+            drain(queue, scoring, matchedAt);
+            scoring.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Rematch interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scoring failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Writer side: one transaction per scored partition, until scoring is done and the queue is empty
+    private void drain(BlockingQueue<Scored> queue, ForkJoinTask<Void> scoring, Timestamp matchedAt)
+            throws InterruptedException {
+        long lastLog = System.currentTimeMillis();
+
+        while (true) {
+            Scored scored = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (scored != null) {
+                write(scored, matchedAt);
+            } else if (scoring.isDone() && queue.isEmpty()) {
+                return;
+            }
+            if (System.currentTimeMillis() - lastLog >= PROGRESS_LOG_INTERVAL_MS) {
+                lastLog = System.currentTimeMillis();
+                Progress progress = getProgress();
+                log.info("Rematch progress: {}/{} partitions, {}/{} items, {} matches, {} items/s",
+                        progress.partitionsDone(), progress.partitions(), progress.itemsScored(),
+                        progress.itemsTotal(), progress.matchesWritten(), Math.round(progress.itemsPerSecond()));
+            }
+        }
+    }
+
+    // Replaces the partition's rows: its items' old lists go and their new ones arrive in the same commit
+    private void write(Scored scored, Timestamp matchedAt) {
+        int written = transactionTemplate.execute(status -> {
+            jdbcTemplate.batchUpdate(ItemMatchService.DELETE_SQL, scored.itemIds(), batchSize,
+                    (statement, itemId) -> statement.setLong(1, itemId));
+            return rows(jdbcTemplate.batchUpdate(ItemMatchService.INSERT_SQL, scored.matches(), batchSize,
+                    (statement, match) -> {
+                        statement.setLong(1, match.itemId());
+                        statement.setLong(2, match.candidateId());
+                        statement.setDouble(3, match.score());
+                        statement.setTimestamp(4, matchedAt);
+                    }));
+        });
+        matchesWritten.addAndGet(written);
+        matchesCounter.increment(written);
+    }
+
+    // Rows the database reports inserted; a driver that only reports success (SUCCESS_NO_INFO) counts one
+    private static int rows(int[][] updateCounts) {
+        int rows = 0;
+        for (int[] batch : updateCounts) {
+            for (int count : batch) {
+                rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    // Partitions of every open (LOST or FOUND) block, cut into bucketDays-wide date buckets
+    List<Partition> plan() {
+        List<Partition> partitions = new ArrayList<>();
+        Duration bucket = Duration.ofDays(Math.max(1, bucketDays));
+        long total = 0;
+
+        for (Block block : itemSearchIndex.blocks()) {
+            if (block.status() != ItemStatus.LOST && block.status() != ItemStatus.FOUND) {
+                continue;
+            }
+            List<IndexedItem> items = itemSearchIndex.block(block.categoryId(), block.status(),
+                    LocalDateTime.MIN, LocalDateTime.MAX);
+            if (items.isEmpty()) {
+                continue;
+            }
+            total += items.size();
+            LocalDateTime last = items.get(items.size() - 1).dateReport();
+            for (LocalDateTime from = items.get(0).dateReport().toLocalDate().atStartOfDay();
+                    !from.isAfter(last); from = from.plus(bucket)) {
+                partitions.add(new Partition(block.categoryId(), block.status(), from, from.plus(bucket)));
+            }
+        }
+        itemsTotal = total;
+        return partitions;
+    }
+
+    private double fractionDone() {
+        int partitions = partitionCount;
+        return partitions == 0 ? 0 : (double) partitionsDone.get() / partitions;
+    }
+
+    // Splits the partition range in halves until one partition is left, then scores it
+    private final class PartitionTask extends RecursiveAction {
+
+        private final List<Partition> partitions;
+        private final int from;
+        private final int to;
+        private final BlockingQueue<Scored> queue;
+
+        PartitionTask(List<Partition> partitions, int from, int to, BlockingQueue<Scored> queue) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+            this.queue = queue;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PartitionTask(partitions, from, middle, queue),
+                        new PartitionTask(partitions, middle, to, queue));
+                return;
+            }
+
+            Partition partition = partitions.get(from);
+            // block() is inclusive at both ends; the bucket is not
+            List<IndexedItem> items = itemSearchIndex.block(partition.categoryId(), partition.status(),
+                    partition.from(), partition.to().minusNanos(1));
+            List<Long> itemIds = new ArrayList<>(items.size());
+            List<Match> matches = new ArrayList<>();
+            for (IndexedItem item : items) {
+                itemIds.add(item.itemId());
+                matches.addAll(itemMatchService.findMatches(item));
+                itemsScored.incrementAndGet();
+                itemsCounter.increment();
+            }
+            if (!itemIds.isEmpty()) {
+                try {
+                    // Blocks while the writer is behind: memory stays bounded by the queue
+                    queue.put(new Scored(itemIds, matches));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Rematch interrupted");
+                }
+            }
+            partitionsDone.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+// Runs the synthetic data generator on startup when the "seed" profile is active, e.g.
+//   java -jar wildcats-finder.jar --spring.profiles.active=h2,seed --seed.items=1000000
+// and optionally writes a replay file of request URLs for bench/HttpBench.java.
+@Component
+@Profile("seed")
+public class SeedDataRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedDataRunner.class);
+
+    // Search terms for the replay mix, roughly as users type them
+    private static final String[] SEARCH_TERMS = { "wallet", "black wal", "phone", "umbrella", "id card",
+            "laptop", "blue", "keys", "library", "water bottle", "charger", "jacket" };
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private RematchJob rematchJob;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.users:10000}")
+    private int users;
+
+    @Value("${seed.items:100000}")
+    private int items;
+
+    @Value("${seed.images:50}")
+    private int images;
+
+    @Value("${seed.image-ratio:0.6}")
+    private double imageRatio;
+
+    @Value("${seed.days:730}")
+    private int days;
+
+    @Value("${seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${seed.replay-file:}")
+    private String replayFile;
+
+    @Value("${seed.replay-requests:10000}")
+    private int replayRequests;
+
+    @Value("${seed.replay-base-url:http://localhost:8080}")
+    private String replayBaseUrl;
+
+    // Score the generated LOST/FOUND items against each other (RematchJob) before serving requests
+    @Value("${seed.rematch:true}")
+    private boolean rematch;
+
+    // Exit once the data is written instead of serving requests
+    @Value("${seed.exit:false}")
+    private boolean exitAfterSeeding;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SyntheticDataGenerator.Summary summary = generator.generate(new SyntheticDataGenerator.Settings(
+                randomSeed, users, items, images, imageRatio, days, batchSize));
+        if (rematch) {
+            rematchJob.run();
+        }
+
+        if (!replayFile.isBlank()) {
+            writeReplayFile(Paths.get(replayFile), summary);
+        }
+        if (exitAfterSeeding) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    // Read-heavy request mix: feed pages, item details, searches, thumbnails and status lists
+    private void writeReplayFile(Path path, SyntheticDataGenerator.Summary summary) {
+        Random random = new Random(randomSeed);
+        List<String> imageFilenames = summary.imageFilenames();
+        long itemSpan = Math.max(1, summary.lastItemId() - summary.firstItemId() + 1);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path)) {
+                for (int i = 0; i < replayRequests; i++) {
+                    int kind = random.nextInt(100);
+                    String url;
+                    if (kind < 35) {
+                        url = "/api/items/feed?limit=24";
+                    } else if (kind < 60) {
+                        url = "/api/items/" + (summary.firstItemId() + (long) (random.nextDouble() * itemSpan));
+                    } else if (kind < 80) {
+                        url = "/api/items/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)].replace(" ", "%20");
+                    } else if (kind < 95 && !imageFilenames.isEmpty()) {
+                        url = "/api/items/images/" + imageFilenames.get(random.nextInt(imageFilenames.size())) + "?size=thumb";
+                    } else {
+                        url = random.nextBoolean() ? "/api/items/lost" : "/api/items/found";
+                    }
+                    writer.write(replayBaseUrl + url);
+                    writer.write('\n');
+                }
+            }
+            log.info("Wrote {} replay requests to {}", replayRequests, path.toAbsolutePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write replay file " + path, e);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.dto.ClaimStatusCount;
+import com.wildcatsfinder.wildcats_finder.dto.ItemCountView;
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.repository.ClaimRepository;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.IndexedItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Dashboard totals kept in memory: items per status, category and department, claims per status.
+// ItemService and ClaimService adjust the counters by the rows each write changed, once it commits,
+// so reading them needs no SQL. LongAdder keeps concurrent increments cheap (each adder stripes its
+// cells across threads). Writes outside the services (data.sql, the synthetic data generator) make the
+// counters drift; reconcile() recounts everything with GROUP BY queries at startup and periodically,
+// and swaps the fresh counters in.
+@Service
+public class StatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsService.class);
+
+    private static final class ItemCounters {
+        final Map<ItemStatus, LongAdder> byStatus = new EnumMap<>(ItemStatus.class);
+        final ConcurrentHashMap<Long, LongAdder> byCategory = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, LongAdder> byDepartment = new ConcurrentHashMap<>();
+
+        ItemCounters() {
+            // Filled once, never resized, so concurrent reads of the EnumMap are safe
+            for (ItemStatus status : ItemStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+    }
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    private volatile ItemCounters items = new ItemCounters();
+    private volatile ConcurrentHashMap<String, LongAdder> claimsByStatus = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciledAt;
+
+    // STARTUP: First count once the application (and data.sql) is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    // Periodic correction of drift, e.g. PT5M
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval:PT5M}",
+            initialDelayString = "${stats.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    // RECONCILE: Recount everything in SQL and replace the counters
+    public synchronized void reconcile() {
+        ItemCounters fresh = new ItemCounters();
+        for (ItemCountView row : itemRepository.countByStatusCategoryAndDepartment()) {
+            fresh.byStatus.get(row.status()).add(row.count());
+            fresh.byCategory.computeIfAbsent(row.categoryId(), key -> new LongAdder()).add(row.count());
+            fresh.byDepartment.computeIfAbsent(row.departmentId(), key -> new LongAdder()).add(row.count());
+        }
+        ConcurrentHashMap<String, LongAdder> freshClaims = countClaims();
+
+        long itemDrift = total(items.byStatus) - total(fresh.byStatus);
+        long claimDrift = total(claimsByStatus) - total(freshClaims);
+        if (reconciledAt != null && (itemDrift != 0 || claimDrift != 0)) {
+            log.info("Statistics drifted by {} items and {} claims since the last reconcile", itemDrift, claimDrift);
+        }
+
+        items = fresh;
+        claimsByStatus = freshClaims;
+        reconciledAt = LocalDateTime.now();
+    }
+
+    // ---- Item writes ----
+
+    // An item changed from one indexed state to another; null before = created, null after = deleted
+    public void itemChanged(IndexedItem before, IndexedItem after) {
+        if (before == after) {
+            return;
+        }
+        ItemCounters counters = items;
+        if (before != null) {
+            adjust(counters, before, -1);
+        }
+        if (after != null) {
+            adjust(counters, after, 1);
+        }
+    }
+
+    // ---- Claim writes ----
+
+    // Claim writes are applied once the caller's transaction commits (dropped on rollback), right away
+    // outside a transaction
+
+    public void claimAdded(String status) {
+        afterCommit(() -> adjustClaims(status, 1));
+    }
+
+    public void claimRemoved(String status) {
+        afterCommit(() -> adjustClaims(status, -1));
+    }
+
+    // One claim moved from one status to another
+    public void claimStatusChanged(String from, String to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        afterCommit(() -> {
+            adjustClaims(from, -1);
+            adjustClaims(to, 1);
+        });
+    }
+
+    // Claims deleted together with their item, as counted just before the delete
+    public void claimsRemoved(List<ClaimStatusCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (ClaimStatusCount row : counts) {
+                adjustClaims(row.status(), -row.count());
+            }
+        });
+    }
+
+    private void adjustClaims(String status, long delta) {
+        claimsByStatus.computeIfAbsent(Objects.toString(status), key -> new LongAdder()).add(delta);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // ---- Reads ----
+
+    // All counters, with category and department names; no database access
+    public Map<String, Object> getStatistics() {
+        ItemCounters counters = items;
+
+        Map<String, Long> itemsByStatus = new LinkedHashMap<>();
+        counters.byStatus.forEach((status, count) -> itemsByStatus.put(status.name(), count.sum()));
+
+        Map<String, Long> itemsByCategory = new TreeMap<>();
+        counters.byCategory.forEach((categoryId, count) -> {
+            CategoryEntity category = referenceDataRegistry.getCategoryById(categoryId);
+            itemsByCategory.merge(category != null ? category.getCategoryName() : String.valueOf(categoryId),
+                    count.sum(), Long::sum);
+        });
+
+        Map<String, Long> itemsByDepartment = new TreeMap<>();
+        counters.byDepartment.forEach((departmentId, count) -> {
+            DepartmentEntity department = referenceDataRegistry.getDepartmentById(departmentId);
+            itemsByDepartment.merge(department != null ? department.getDepName() : String.valueOf(departmentId),
+                    count.sum(), Long::sum);
+        });
+
+        Map<String, Long> claimCounts = new TreeMap<>();
+        claimsByStatus.forEach((status, count) -> claimCounts.put(status, count.sum()));
+
+        Map<String, Object> itemStats = new LinkedHashMap<>();
+        itemStats.put("total", total(counters.byStatus));
+        itemStats.put("byStatus", itemsByStatus);
+        itemStats.put("byCategory", itemsByCategory);
+        itemStats.put("byDepartment", itemsByDepartment);
+
+        Map<String, Object> claimStats = new LinkedHashMap<>();
+        claimStats.put("total", claimCounts.values().stream().mapToLong(Long::longValue).sum());
+        claimStats.put("byStatus", claimCounts);
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("items", itemStats);
+        statistics.put("claims", claimStats);
+        statistics.put("reconciledAt", reconciledAt);
+        return statistics;
+    }
+
+    private static void adjust(ItemCounters counters, IndexedItem item, int delta) {
+        counters.byStatus.get(item.status()).add(delta);
+        if (item.categoryId() != null) {
+            counters.byCategory.computeIfAbsent(item.categoryId(), key -> new LongAdder()).add(delta);
+        }
+        if (item.departmentId() != null) {
+            counters.byDepartment.computeIfAbsent(item.departmentId(), key -> new LongAdder()).add(delta);
+        }
+    }
+
+    private ConcurrentHashMap<String, LongAdder> countClaims() {
+        ConcurrentHashMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+        for (ClaimStatusCount row : claimRepository.countByStatusAndVerified()) {
+            counts.computeIfAbsent(Objects.toString(row.status()), key -> new LongAdder()).add(row.count());
+        }
+        return counts;
+    }
+
+    private static long total(Map<?, LongAdder> counters) {
+        long total = 0;
+        for (LongAdder count : counters.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,357 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Bulk-loads realistic-looking users, items and claims for load tests and benchmarks.
+// Output is a pure function of the settings and the run date: the same seed produces the same rows
+// (dates relative to now) and the same images.
+// Rows are written with JDBC batches and explicit ids (no entity round trips), so millions of rows
+// load in minutes. On MySQL add rewriteBatchedStatements=true to the JDBC URL for full batch speed.
+@Service
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    public record Settings(long seed, int users, int items, int images, double imageRatio, int days, int batchSize) {
+
+        public static Settings of(int items) {
+            return new Settings(42L, Math.max(10, items / 20), items, 0, 0.0, 365, 1000);
+        }
+    }
+
+    public record Summary(int users, int items, int claims, long firstItemId, long lastItemId,
+                          List<String> imageFilenames, long elapsedMillis) {
+    }
+
+    // Used when the reference tables are empty (tests, benchmarks); mirrors data.sql
+    private static final String[][] DEFAULT_CATEGORIES = {
+            { "Electronics & Gadgets", "Phones, laptops, tablets, chargers, earphones" },
+            { "Academic Materials", "Textbooks, notebooks, calculators, pens, binders" },
+            { "Personal Accessories", "Watches, jewelry, glasses, wallets, belts" },
+            { "Clothing & Uniforms", "Shirts, jackets, pants, shoes, PE uniforms" },
+            { "Bags & Backpacks", "School bags, laptop bags, handbags, pouches" },
+            { "ID & Cards", "Student IDs, library cards, bank cards, IDs" },
+            { "Keys", "House keys, car keys, locker keys, keychains" },
+            { "Sports Equipment", "Balls, rackets, gym clothes, water bottles" },
+            { "Toiletries & Cosmetics", "Perfume, makeup kits, hair accessories" },
+            { "Documents", "Papers, certificates, notes, assignments" },
+            { "Food Containers", "Lunch boxes, water bottles, tumblers" },
+            { "Others", "Other miscellaneous items" } };
+
+    private static final String[][] DEFAULT_DEPARTMENTS = {
+            { "College of Engineering and Architecture (CEA)", "Engineering and Architecture Building" },
+            { "College of Computer Studies (CCS)", "Computer Studies Building" },
+            { "College of Arts and Sciences (CAS)", "Arts and Sciences Building" },
+            { "College of Education (COEd)", "Education Building" },
+            { "College of Business and Accountancy (CBA)", "Business and Accountancy Building" },
+            { "College of Nursing (CON)", "Nursing Building" },
+            { "Graduate School (GS)", "Graduate School Building" },
+            { "Administrative Offices", "Administration Building" },
+            { "Library", "University Library" },
+            { "Cafeteria/Food Court", "Student Dining Area" },
+            { "Sports Complex/Gym", "University Gymnasium" },
+            { "Parking Areas", "Campus Parking Lots" },
+            { "Other Campus Areas", "Other Campus Locations" } };
+
+    private static final String[] OBJECTS = { "wallet", "umbrella", "phone", "laptop", "keys", "backpack",
+            "calculator", "water bottle", "id card", "earphones", "jacket", "notebook", "charger", "tumbler",
+            "eyeglasses", "watch", "textbook", "lunch box", "flash drive", "hoodie" };
+    private static final String[] COLORS = { "black", "blue", "red", "white", "grey", "green", "brown", "pink", "silver" };
+    private static final String[] FIRST_NAMES = { "Juan", "Maria", "Jose", "Ana", "Mark", "Kristine", "John",
+            "Angel", "Paolo", "Bea", "Carlo", "Nicole", "Miguel", "Andrea", "Rafael", "Camille" };
+    private static final String[] LAST_NAMES = { "Santos", "Reyes", "Cruz", "Bautista", "Garcia", "Mendoza",
+            "Torres", "Flores", "Villanueva", "Ramos", "Castillo", "Aquino", "Navarro", "Dela Cruz" };
+
+    // Share of each status among reported items: LOST, FOUND, CLAIMED, RETURNED
+    private static final double[] STATUS_WEIGHTS = { 0.45, 0.35, 0.12, 0.08 };
+    private static final String[] STATUSES = { "LOST", "FOUND", "CLAIMED", "RETURNED" };
+
+    private static final String USER_INSERT = "INSERT INTO users (user_id, username, password, f_name, m_name, l_name, "
+            + "email, contact_no, role) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ITEM_INSERT = "INSERT INTO items (item_id, item_title, item_desc, date_report, location, "
+            + "image_url, status, user_id, category_id, dep_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CLAIM_INSERT = "INSERT INTO claims (claim_id, claim_date, status, verified, "
+            + "verification_answer, item_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    public Summary generate(Settings settings) {
+        long started = System.currentTimeMillis();
+        Random random = new Random(settings.seed());
+
+        List<Long> categoryIds = ensureReferenceData("categories", "category_id", "category_name", "cat_description", DEFAULT_CATEGORIES);
+        List<Long> departmentIds = ensureReferenceData("departments", "dep_id", "dep_name", "location", DEFAULT_DEPARTMENTS);
+        List<String> departmentLocations = new ArrayList<>();
+        for (Long depId : departmentIds) {
+            departmentLocations.add(jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(location, dep_name) FROM departments WHERE dep_id = ?", String.class, depId));
+        }
+        referenceDataRegistry.refresh();
+
+        long firstUserId = nextId("users", "user_id");
+        insertUsers(settings, random, firstUserId);
+
+        List<String> images = createImages(settings, random);
+
+        long firstItemId = nextId("items", "item_id");
+        long firstClaimId = nextId("claims", "claim_id");
+        int claims = insertItemsAndClaims(settings, random, firstUserId, firstItemId, firstClaimId,
+                categoryIds, departmentIds, departmentLocations, images);
+
+        restartIdentities();
+        itemSearchIndex.rebuild();
+        statisticsService.reconcile();
+
+        Summary summary = new Summary(settings.users(), settings.items(), claims, firstItemId,
+                firstItemId + settings.items() - 1, images, System.currentTimeMillis() - started);
+        log.info("Generated {} users, {} items, {} claims and {} images in {} ms", summary.users(), summary.items(),
+                summary.claims(), images.size(), summary.elapsedMillis());
+        return summary;
+    }
+
+    private void insertUsers(Settings settings, Random random, long firstUserId) {
+        String prefix = "seed" + settings.seed() + "_" + firstUserId + "_";
+        List<Object[]> batch = new ArrayList<>(settings.batchSize());
+        for (int i = 0; i < settings.users(); i++) {
+            String username = prefix + i;
+            batch.add(new Object[] {
+                    firstUserId + i, username, "password",
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    random.nextInt(3) == 0 ? null : LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    username + "@seed.example.com",
+                    "09" + (100000000 + random.nextInt(900000000)),
+                    random.nextInt(200) == 0 ? "ADMIN" : "USER" });
+            if (batch.size() == settings.batchSize()) {
+                flush(USER_INSERT, batch);
+            }
+        }
+        flush(USER_INSERT, batch);
+    }
+
+    private int insertItemsAndClaims(Settings settings, Random random, long firstUserId, long firstItemId,
+                                     long firstClaimId, List<Long> categoryIds, List<Long> departmentIds,
+                                     List<String> departmentLocations, List<String> images) {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        double[] categoryWeights = zipfWeights(categoryIds.size());
+        double[] departmentWeights = zipfWeights(departmentIds.size());
+        double[] imageWeights = zipfWeights(images.size());
+
+        List<Object[]> items = new ArrayList<>(settings.batchSize());
+        List<Object[]> claims = new ArrayList<>();
+        long claimId = firstClaimId;
+
+        for (int i = 0; i < settings.items(); i++) {
+            long itemId = firstItemId + i;
+            String object = OBJECTS[random.nextInt(OBJECTS.length)];
+            String color = COLORS[random.nextInt(COLORS.length)];
+            int department = pick(random, departmentWeights);
+            String status = STATUSES[pick(random, STATUS_WEIGHTS)];
+            // Few heavy reporters, a long tail of occasional ones
+            long reporter = firstUserId + (long) (settings.users() * Math.pow(random.nextDouble(), 2));
+            LocalDateTime reported = reportTime(random, now, settings.days());
+            String imageUrl = !images.isEmpty() && random.nextDouble() < settings.imageRatio()
+                    ? FileStorageService.IMAGE_URL_PREFIX + images.get(pick(random, imageWeights))
+                    : null;
+
+            items.add(new Object[] {
+                    itemId,
+                    Character.toUpperCase(color.charAt(0)) + color.substring(1) + " " + object,
+                    "A " + color + " " + object + " near the " + departmentLocations.get(department).toLowerCase(),
+                    Timestamp.valueOf(reported),
+                    departmentLocations.get(department),
+                    imageUrl,
+                    status,
+                    reporter,
+                    categoryIds.get(pick(random, categoryWeights)),
+                    departmentIds.get(department) });
+
+            for (Object[] claim : claimsFor(random, status, itemId, reported, now, firstUserId, settings.users())) {
+                claim[0] = claimId++;
+                claims.add(claim);
+            }
+
+            if (items.size() == settings.batchSize()) {
+                flush(ITEM_INSERT, items);
+                flush(CLAIM_INSERT, claims);
+            }
+        }
+        flush(ITEM_INSERT, items);
+        flush(CLAIM_INSERT, claims);
+        return (int) (claimId - firstClaimId);
+    }
+
+    // FOUND items sometimes have pending claims; CLAIMED/RETURNED items have the approved one plus rejected tries
+    private static List<Object[]> claimsFor(Random random, String status, long itemId, LocalDateTime reported,
+                                            LocalDateTime now, long firstUserId, int users) {
+        List<Object[]> claims = new ArrayList<>();
+        switch (status) {
+            case "FOUND" -> {
+                if (random.nextDouble() < 0.3) {
+                    int count = 1 + random.nextInt(2);
+                    for (int c = 0; c < count; c++) {
+                        claims.add(claim(random, "PENDING", false, itemId, reported, now, firstUserId, users));
+                    }
+                }
+            }
+            case "CLAIMED", "RETURNED" -> {
+                if (random.nextDouble() < 0.2) {
+                    claims.add(claim(random, "REJECTED", false, itemId, reported, now, firstUserId, users));
+                }
+                claims.add(claim(random, "APPROVED", true, itemId, reported, now, firstUserId, users));
+            }
+            default -> {
+            }
+        }
+        return claims;
+    }
+
+    private static Object[] claim(Random random, String status, boolean verified, long itemId,
+                                  LocalDateTime reported, LocalDateTime now, long firstUserId, int users) {
+        LocalDateTime claimed = reported.plusHours(1 + random.nextInt(14 * 24));
+        if (claimed.isAfter(now)) {
+            claimed = now;
+        }
+        return new Object[] { null, Timestamp.valueOf(claimed), status, verified,
+                "It has my name written inside", itemId, firstUserId + random.nextInt(users) };
+    }
+
+    // Most reports are recent (exponential age, mean a fifth of the window), during campus hours
+    private static LocalDateTime reportTime(Random random, LocalDateTime now, int days) {
+        double ageDays = Math.min(days, -Math.log(1 - random.nextDouble()) * days / 5.0);
+        LocalDateTime reported = now.minusMinutes((long) (ageDays * 24 * 60))
+                .withHour(7 + random.nextInt(12))
+                .withMinute(random.nextInt(60))
+                .withSecond(random.nextInt(60));
+        return reported.isAfter(now) ? now : reported;
+    }
+
+    // Sample photos: distinct images stored through the regular (content-addressed) upload path
+    private List<String> createImages(Settings settings, Random random) {
+        List<String> filenames = new ArrayList<>();
+        for (int i = 0; i < settings.images(); i++) {
+            BufferedImage image = new BufferedImage(1280, 960, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            try {
+                graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+                graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+                for (int shape = 0; shape < 12; shape++) {
+                    graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+                    graphics.fillOval(random.nextInt(1280), random.nextInt(960), 80 + random.nextInt(400), 80 + random.nextInt(400));
+                }
+            } finally {
+                graphics.dispose();
+            }
+
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(image, "jpg", out);
+                filenames.add(fileStorageService.storeStream(new ByteArrayInputStream(out.toByteArray())));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not store sample image", e);
+            }
+        }
+        return filenames;
+    }
+
+    // Insert the default rows when a reference table is empty; returns its ids in id order
+    private List<Long> ensureReferenceData(String table, String idColumn, String nameColumn, String otherColumn,
+                                           String[][] defaults) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        if (count == null || count == 0) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < defaults.length; i++) {
+                rows.add(new Object[] { i + 1L, defaults[i][0], defaults[i][1] });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (" + idColumn + ", " + nameColumn + ", " + otherColumn
+                    + ") VALUES (?, ?, ?)", rows);
+        }
+        return jdbcTemplate.queryForList("SELECT " + idColumn + " FROM " + table + " ORDER BY " + idColumn, Long.class);
+    }
+
+    private long nextId(String table, String idColumn) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    // MySQL moves AUTO_INCREMENT past explicit ids by itself; H2 identity columns have to be told
+    private void restartIdentities() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product)) {
+            return;
+        }
+        String[][] identities = { { "categories", "category_id" }, { "departments", "dep_id" },
+                { "users", "user_id" }, { "items", "item_id" }, { "claims", "claim_id" } };
+        for (String[] identity : identities) {
+            jdbcTemplate.execute("ALTER TABLE " + identity[0] + " ALTER COLUMN " + identity[1]
+                    + " RESTART WITH " + nextId(identity[0], identity[1]));
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    // Weights proportional to 1/rank, so a few categories/departments/photos dominate
+    private static double[] zipfWeights(int size) {
+        double[] weights = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1.0 / (i + 1);
+            total += weights[i];
+        }
+        for (int i = 0; i < size; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+
+    private static int pick(Random random, double[] weights) {
+        double r = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
@@ -2,6 +2,8 @@ package com.wildcatsfinder.wildcats_finder.service;
 
 import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
 import com.wildcatsfinder.wildcats_finder.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +14,8 @@ import java.util.Optional;
 @Service
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -22,7 +26,7 @@ public class UserService {
 
     // READ: Fetch all users
     public List<UserEntity> getAllUsers() {
-        return userRepository.findAll();
+        return userRepository.findAllWithItems();
     }
 
     // READ: Fetch a user by its ID
@@ -101,55 +105,27 @@ public class UserService {
 
     // REGISTER: Register a new user - DO NOT override role
     public UserEntity registerUser(UserEntity user) {
-        System.out.println("=== SERVICE DEBUG: registerUser ===");
-        System.out.println("Username: " + user.getUsername());
-        System.out.println("Role from controller: '" + user.getRole() + "'");
-        
         // Just save the user as-is, don't override the role
         UserEntity savedUser = userRepository.save(user);
-        
-        System.out.println("Saved user role: " + savedUser.getRole());
-        System.out.println("=== END SERVICE DEBUG ===");
+        log.debug("Saved user {} with role {}", savedUser.getUserId(), savedUser.getRole());
         
         return savedUser;
     }
 
     // LOGIN: Validate user login credentials
     public UserEntity loginUser(String username, String password) {
-        System.out.println("=== USER SERVICE DEBUG - loginUser ===");
-        System.out.println("Looking for user with username: " + username);
-        
-        System.out.println("Using custom query...");
-        
         Optional<UserEntity> user = userRepository.findByUsernameWithItems(username);
 
         if (user.isPresent()) {
             UserEntity foundUser = user.get();
             
-            System.out.println("User found with ID: " + foundUser.getUserId());
-            System.out.println("User fName: '" + foundUser.getFName() + "'");
-            System.out.println("User mName: '" + foundUser.getMName() + "'");
-            System.out.println("User lName: '" + foundUser.getLName() + "'");
-            System.out.println("User email: " + foundUser.getEmail());
-            System.out.println("User role: " + foundUser.getRole()); // ADDED THIS LINE
-            
-            // Check if name fields are actually populated
-            if (foundUser.getFName() == null) {
-                System.out.println("WARNING: fName is NULL!");
-            } else {
-                System.out.println("fName length: " + foundUser.getFName().length());
-            }
-            
             // Simple password check (you might want to use BCrypt in production)
             if (foundUser.getPassword().equals(password)) {
-                System.out.println("Password matches! Returning user...");
                 return foundUser;
             } else {
-                System.out.println("Password does NOT match!");
                 throw new NoSuchElementException("Invalid password for user: " + username);
             }
         } else {
-            System.out.println("User NOT found!");
             throw new NoSuchElementException("User with username '" + username + "' not found");
         }
     }
@@ -0,0 +1,41 @@
+package com.wildcatsfinder.wildcats_finder.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.percentiles-histogram.spring.data.repository.invocations=true" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exposesRequestRepositoryAndStatementMetrics() throws Exception {
+        mockMvc.perform(get("/api/items/simple")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("handler=\"ItemController.getSimpleItems\"")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("http_server_requests_sql_statements_bucket{")
+                .contains("hikaricp_connections_acquire_seconds")
+                .contains("files_bytes_written_bytes_total");
+    }
+}
@@ -0,0 +1,103 @@
+package com.wildcatsfinder.wildcats_finder.config;
+
+import com.wildcatsfinder.wildcats_finder.service.SyntheticDataGenerator;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Pins the SQL statement budget of every list endpoint; a failure here is an N+1 regression.
+// Runs against its own seeded database, in reject mode so an over-budget request also fails with 500.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budgettest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "query-budget.mode=reject",
+        "query-budget.expose-header=true" })
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private QueryBudgetProperties properties;
+
+    private static SyntheticDataGenerator.Summary summary;
+
+    @BeforeEach
+    void seed() {
+        if (summary == null) {
+            summary = generator.generate(new SyntheticDataGenerator.Settings(3L, 12, 150, 0, 0.0, 90, 100));
+        }
+    }
+
+    @Test
+    void listEndpointsStayWithinTheirBudget() throws Exception {
+        // URL -> handler whose budget applies
+        Map<String, String> endpoints = new LinkedHashMap<>();
+        endpoints.put("/api/items", "ItemController.getAllItems");
+        endpoints.put("/api/items/feed?limit=50", "ItemController.getItemFeed");
+        endpoints.put("/api/items/simple", "ItemController.getSimpleItems");
+        endpoints.put("/api/items/status/CLAIMED", "ItemController.getItemsByStatus");
+        endpoints.put("/api/items/lost", "ItemController.getLostItems");
+        endpoints.put("/api/items/found", "ItemController.getFoundItems");
+        endpoints.put("/api/items/user/1", "ItemController.getItemsByUserId");
+        endpoints.put("/api/items/category/1", "ItemController.getItemsByCategory");
+        endpoints.put("/api/items/department/1", "ItemController.getItemsByDepartment");
+        endpoints.put("/api/items/search?q=phone", "ItemController.searchItems");
+        endpoints.put("/api/items/query?q=phone&size=50", "ItemController.queryItems");
+        endpoints.put("/api/claims", "ClaimController.getAllClaims");
+        endpoints.put("/api/claims/user/1", "ClaimController.getClaimsByUserId");
+        endpoints.put("/api/claims/item/" + firstClaimedItem(), "ClaimController.getClaimsByItemId");
+        endpoints.put("/api/claims/pending", "ClaimController.getPendingClaims");
+        endpoints.put("/api/claims/status/APPROVED", "ClaimController.getClaimsByStatus");
+        endpoints.put("/api/claims/queue?size=5", "ClaimController.getClaimQueue");
+        endpoints.put("/api/claims/queue?status=APPROVED&order=newest", "ClaimController.getClaimQueue");
+        endpoints.put("/api/claims/counts?itemIds=1,2,3," + firstClaimedItem(), "ClaimController.getClaimCounts");
+        endpoints.put("/api/claims/counts/status", "ClaimController.getClaimStatusCounts");
+        endpoints.put("/api/users", "UserController.getAllUsers");
+        endpoints.put("/api/stats", "StatisticsController.getStatistics");
+
+        SoftAssertions softly = new SoftAssertions();
+        for (Map.Entry<String, String> endpoint : endpoints.entrySet()) {
+            MockHttpServletResponse response = mockMvc.perform(get(endpoint.getKey())).andReturn().getResponse();
+            softly.assertThat(response.getStatus()).as("status of %s", endpoint.getKey()).isEqualTo(200);
+            softly.assertThat(response.getContentAsString()).as("body of %s", endpoint.getKey()).isNotEqualTo("[]");
+            softly.assertThat(Integer.parseInt(response.getHeader(QueryBudgetFilter.STATEMENTS_HEADER)))
+                    .as("SQL statements for %s", endpoint.getKey())
+                    .isLessThanOrEqualTo(properties.budgetFor(endpoint.getValue()));
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    void rejectsRequestsOverBudget() throws Exception {
+        properties.getEndpoints().put("ItemController.getSimpleItems", 0);
+        try {
+            MockHttpServletResponse response = mockMvc.perform(get("/api/items/simple")).andReturn().getResponse();
+
+            assertThat(response.getStatus()).isEqualTo(500);
+            assertThat(response.getHeader(QueryBudgetFilter.STATEMENTS_HEADER)).isEqualTo("1");
+            assertThat(response.getContentAsString()).startsWith("Query budget exceeded");
+        } finally {
+            properties.getEndpoints().put("ItemController.getSimpleItems", 1);
+        }
+    }
+
+    private String firstClaimedItem() throws Exception {
+        String body = mockMvc.perform(get("/api/claims/status/APPROVED")).andReturn().getResponse().getContentAsString();
+        return body.replaceFirst("(?s).*?\"itemId\":(\\d+).*", "$1");
+    }
+}
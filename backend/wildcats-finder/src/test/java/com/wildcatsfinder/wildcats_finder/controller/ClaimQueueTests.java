@@ -0,0 +1,98 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.wildcatsfinder.wildcats_finder.service.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs against its own seeded database
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:claimqueuetest;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ClaimQueueTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static boolean seeded;
+
+    @BeforeEach
+    void seed() {
+        if (!seeded) {
+            generator.generate(new SyntheticDataGenerator.Settings(11L, 20, 400, 0, 0.0, 120, 200));
+            seeded = true;
+        }
+    }
+
+    @Test
+    void pagesThroughUnverifiedClaimsOldestFirst() throws Exception {
+        long pending = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM claims WHERE verified = FALSE", Long.class);
+        assertThat(pending).isGreaterThan(10);
+
+        List<String> dates = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        int page = 0;
+        boolean hasMore = true;
+        while (hasMore) {
+            String body = mockMvc.perform(get("/api/claims/queue?size=7&page=" + page))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(JsonPath.<Integer>read(body, "$.total")).isEqualTo((int) pending);
+            assertThat(JsonPath.<List<String>>read(body, "$.claims[*].itemTitle")).doesNotContainNull();
+            assertThat(JsonPath.<List<String>>read(body, "$.claims[*].claimantUsername")).doesNotContainNull();
+            dates.addAll(JsonPath.read(body, "$.claims[*].claimDate"));
+            ids.addAll(JsonPath.read(body, "$.claims[*].claimId"));
+            hasMore = JsonPath.read(body, "$.hasMore");
+            page++;
+        }
+
+        assertThat(ids).hasSize((int) pending).doesNotHaveDuplicates();
+        assertThat(dates).isSorted();
+    }
+
+    @Test
+    void countsClaimsPerItemAndPerStatus() throws Exception {
+        List<Long> claimed = jdbcTemplate.queryForList(
+                "SELECT item_id FROM claims GROUP BY item_id ORDER BY item_id LIMIT 3", Long.class);
+        Long unclaimed = jdbcTemplate.queryForObject(
+                "SELECT MIN(item_id) FROM items WHERE item_id NOT IN (SELECT item_id FROM claims)", Long.class);
+        String ids = claimed.get(0) + "," + claimed.get(1) + "," + claimed.get(2) + "," + unclaimed;
+
+        String body = mockMvc.perform(get("/api/claims/counts?itemIds=" + ids))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        for (Long itemId : claimed) {
+            long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM claims WHERE item_id = ?", Long.class, itemId);
+            long pending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM claims WHERE item_id = ? AND verified = FALSE", Long.class, itemId);
+            assertThat(JsonPath.<Integer>read(body, "$['" + itemId + "'].total")).isEqualTo((int) total);
+            assertThat(JsonPath.<Integer>read(body, "$['" + itemId + "'].pending")).isEqualTo((int) pending);
+        }
+        assertThat(JsonPath.<Integer>read(body, "$['" + unclaimed + "'].total")).isZero();
+
+        String summary = mockMvc.perform(get("/api/claims/counts/status"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long approved = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM claims WHERE status = 'APPROVED'", Long.class);
+        long all = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM claims", Long.class);
+        assertThat(JsonPath.<Integer>read(summary, "$.byStatus.APPROVED")).isEqualTo((int) approved);
+        assertThat(JsonPath.<Integer>read(summary, "$.total")).isEqualTo((int) all);
+    }
+}
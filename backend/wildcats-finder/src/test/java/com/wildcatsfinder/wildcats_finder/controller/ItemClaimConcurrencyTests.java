@@ -0,0 +1,110 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import com.wildcatsfinder.wildcats_finder.repository.CategoryRepository;
+import com.wildcatsfinder.wildcats_finder.repository.DepartmentRepository;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import com.wildcatsfinder.wildcats_finder.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Real server and connection pool, own database: concurrent claims go through Tomcat, Hikari and the database
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:claimtest;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class ItemClaimConcurrencyTests {
+
+    private static final int CLAIMANTS = 300;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void exactlyOneOfManyConcurrentClaimsWins() throws Exception {
+        ItemEntity item = foundItem();
+        long ownerId = item.getUser().getUserId();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLAIMANTS; i++) {
+                long claimantId = ownerId + 1 + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    ResponseEntity<String> response = restTemplate.postForEntity(
+                            "/api/items/" + item.getItemId() + "/claim", Map.of("userId", claimantId), String.class);
+                    return response.getStatusCode().value();
+                }));
+            }
+            start.countDown();
+        }
+
+        int won = 0;
+        int conflicts = 0;
+        for (Future<Integer> result : results) {
+            int status = result.get();
+            if (status == 200) {
+                won++;
+            } else if (status == 409) {
+                conflicts++;
+            }
+        }
+        assertThat(won).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(CLAIMANTS - 1);
+
+        ItemEntity claimed = itemRepository.findById(item.getItemId()).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(ItemStatus.CLAIMED);
+        assertThat(claimed.getVersion()).isEqualTo(item.getVersion() + 1);
+    }
+
+    @Test
+    void ownerCannotClaimOwnItem() {
+        ItemEntity item = foundItem();
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/api/items/" + item.getItemId() + "/claim", Map.of("userId", item.getUser().getUserId()), String.class);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        assertThat(itemRepository.findById(item.getItemId()).orElseThrow().getStatus()).isEqualTo(ItemStatus.FOUND);
+    }
+
+    private ItemEntity foundItem() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity owner = userRepository.save(new UserEntity("owner-" + suffix, "secret", "Found", null, "Finder",
+                "owner-" + suffix + "@example.edu", null, "STUDENT"));
+        CategoryEntity category = categoryRepository.save(new CategoryEntity("Bags-" + suffix, "Bags"));
+        DepartmentEntity department = departmentRepository.save(new DepartmentEntity("Library-" + suffix, "Main"));
+        return itemRepository.save(new ItemEntity("Black backpack", "Left in the reading room", LocalDateTime.now(),
+                "Library", null, ItemStatus.FOUND, owner, category, department));
+    }
+}
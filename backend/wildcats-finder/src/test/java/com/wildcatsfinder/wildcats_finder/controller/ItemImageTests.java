@@ -0,0 +1,271 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import com.wildcatsfinder.wildcats_finder.repository.CategoryRepository;
+import com.wildcatsfinder.wildcats_finder.repository.DepartmentRepository;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import com.wildcatsfinder.wildcats_finder.repository.UserRepository;
+import com.wildcatsfinder.wildcats_finder.service.OrphanFileSweeper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// No orphan grace period, so a replaced or unused image is removed as soon as nothing references it
+@SpringBootTest(properties = "file.orphan-grace-seconds=0")
+@AutoConfigureMockMvc
+class ItemImageTests {
+
+    // PNG signature followed by some filler bytes
+    private static final byte[] PNG_BYTES = {
+            (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3, 4, 5, 6, 7, 8 };
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrphanFileSweeper orphanFileSweeper;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    private String filename;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path dir = Files.createDirectories(Paths.get(uploadDir));
+        filename = UUID.randomUUID() + ".png";
+        Files.write(dir.resolve(filename), PNG_BYTES);
+    }
+
+    @Test
+    void servesImageWithCachingHeaders() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/items/images/" + filename))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsByteArray()).isEqualTo(PNG_BYTES);
+        // Strong ETag: quoted hex SHA-256 of the content
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).startsWith("\"").hasSize(66);
+    }
+
+    @Test
+    void answersConditionalRequestWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/items/images/" + filename))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/items/images/" + filename).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void servesByteRanges() throws Exception {
+        mockMvc.perform(get("/api/items/images/" + filename).header(HttpHeaders.RANGE, "bytes=0-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-3/" + PNG_BYTES.length))
+                .andExpect(content().bytes(new byte[] { (byte) 0x89, 'P', 'N', 'G' }));
+    }
+
+    @Test
+    void countsTheBytesActuallySent() throws Exception {
+        Counter bytesRead = Metrics.globalRegistry.get("files.bytes.read").counter();
+        double before = bytesRead.count();
+
+        String etag = mockMvc.perform(get("/api/items/images/" + filename))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/items/images/" + filename).header(HttpHeaders.RANGE, "bytes=0-3"))
+                .andExpect(status().isPartialContent());
+        mockMvc.perform(get("/api/items/images/" + filename).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // The whole file, then four bytes, then nothing
+        assertThat(bytesRead.count() - before).isEqualTo(PNG_BYTES.length + 4);
+    }
+
+    @Test
+    void fallsBackToOriginalWhileVariantIsPending() throws Exception {
+        mockMvc.perform(get("/api/items/images/" + filename).param("size", "thumb"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().bytes(PNG_BYTES));
+    }
+
+    @Test
+    void servesSmallImagesAsTheirOwnVariantOnceChecked() throws Exception {
+        mockMvc.perform(get("/api/items/images/" + filename).param("size", "thumb"));
+
+        // The background check links the original under the variant's name; from then on it is cached for good
+        String cacheControl = null;
+        for (int attempt = 0; attempt < 100 && !"max-age=31536000, public, immutable".equals(cacheControl); attempt++) {
+            Thread.sleep(20);
+            cacheControl = mockMvc.perform(get("/api/items/images/" + filename).param("size", "thumb"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(PNG_BYTES))
+                    .andReturn().getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+        }
+        assertThat(cacheControl).isEqualTo("max-age=31536000, public, immutable");
+    }
+
+    @Test
+    void servesFormatsWithoutVariantsAsUploaded() throws Exception {
+        byte[] gif = { 'G', 'I', 'F', '8', '9', 'a', 1, 0, 1, 0, 0, 0 };
+        String gifName = UUID.randomUUID() + ".gif";
+        Files.write(Paths.get(uploadDir).resolve(gifName), gif);
+
+        mockMvc.perform(get("/api/items/images/" + gifName).param("size", "medium"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/gif"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(content().bytes(gif));
+    }
+
+    @Test
+    void streamsUploadAndNamesItBySignature() throws Exception {
+        MvcResult upload = mockMvc.perform(post("/api/items/images")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(PNG_BYTES))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.filename").value(endsWith(".png")))
+                .andReturn();
+
+        String stored = JsonPath.read(upload.getResponse().getContentAsString(), "$.filename");
+        mockMvc.perform(get("/api/items/images/" + stored))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(PNG_BYTES));
+    }
+
+    @Test
+    void replacingTheImageWithPutDeletesTheOldFile() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String oldImage = upload(suffix + "-old");
+        String newImage = upload(suffix + "-new");
+        ItemEntity item = saveItemWithImage(suffix, oldImage);
+
+        String body = "{\"itemTitle\":\"Grey backpack\",\"status\":\"FOUND\""
+                + ",\"userId\":" + item.getUser().getUserId()
+                + ",\"categoryId\":" + item.getCategory().getCategoryId()
+                + ",\"departmentId\":" + item.getDepartment().getDepId()
+                + ",\"imageUrl\":\"/api/items/images/" + newImage + "\"}";
+        mockMvc.perform(put("/api/items/" + item.getItemId()).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/items/images/" + oldImage)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/items/images/" + newImage)).andExpect(status().isOk());
+    }
+
+    @Test
+    void replacingTheImageWithPatchDeletesTheOldFileOnceCommitted() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String oldImage = upload(suffix + "-old");
+        String newImage = upload(suffix + "-new");
+        ItemEntity item = saveItemWithImage(suffix, oldImage);
+
+        mockMvc.perform(patch("/api/items/" + item.getItemId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"imageUrl\":\"/api/items/images/" + newImage + "\"}"))
+                .andExpect(status().isNoContent());
+
+        // Released in the background after the commit
+        int statusCode = 200;
+        for (int attempt = 0; attempt < 100 && statusCode != 404; attempt++) {
+            Thread.sleep(20);
+            statusCode = mockMvc.perform(get("/api/items/images/" + oldImage)).andReturn().getResponse().getStatus();
+        }
+        assertThat(statusCode).isEqualTo(404);
+        mockMvc.perform(get("/api/items/images/" + newImage)).andExpect(status().isOk());
+    }
+
+    @Test
+    void sweeperRemovesUploadsNoItemReferences() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String unused = upload(suffix + "-unused");
+        String used = upload(suffix + "-used");
+        saveItemWithImage(suffix, used);
+
+        assertThat(orphanFileSweeper.sweep()).isGreaterThanOrEqualTo(1);
+
+        mockMvc.perform(get("/api/items/images/" + unused)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/items/images/" + used)).andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsUploadsThatAreNotImages() throws Exception {
+        mockMvc.perform(post("/api/items/images")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("<html>not an image</html>"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsMissingFiles() throws Exception {
+        mockMvc.perform(get("/api/items/images/does-not-exist.png"))
+                .andExpect(status().isNotFound());
+    }
+
+    private ItemEntity saveItemWithImage(String suffix, String image) {
+        UserEntity owner = userRepository.save(new UserEntity("img-" + suffix, "secret", "Image", null, "Owner",
+                "img-" + suffix + "@example.edu", null, "STUDENT"));
+        CategoryEntity category = categoryRepository.save(new CategoryEntity("Bags-" + suffix, "Bags"));
+        DepartmentEntity department = departmentRepository.save(new DepartmentEntity("Library-" + suffix, "Main"));
+        return itemRepository.save(new ItemEntity("Grey backpack", "Zipper broken", LocalDateTime.now(),
+                "Library", "/api/items/images/" + image, ItemStatus.FOUND, owner, category, department));
+    }
+
+    // Stores a PNG whose content (and so its content-addressed name) is unique to this test
+    private String upload(String marker) throws Exception {
+        byte[] content = new byte[PNG_BYTES.length + marker.length()];
+        System.arraycopy(PNG_BYTES, 0, content, 0, PNG_BYTES.length);
+        System.arraycopy(marker.getBytes(StandardCharsets.US_ASCII), 0, content, PNG_BYTES.length, marker.length());
+        MvcResult upload = mockMvc.perform(post("/api/items/images")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return JsonPath.read(upload.getResponse().getContentAsString(), "$.filename");
+    }
+}
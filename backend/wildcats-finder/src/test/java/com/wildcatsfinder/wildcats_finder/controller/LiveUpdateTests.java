@@ -0,0 +1,175 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ClaimEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import com.wildcatsfinder.wildcats_finder.repository.UserRepository;
+import com.wildcatsfinder.wildcats_finder.service.ClaimService;
+import com.wildcatsfinder.wildcats_finder.service.ItemService;
+import com.wildcatsfinder.wildcats_finder.service.ReferenceDataRegistry;
+import com.wildcatsfinder.wildcats_finder.service.SyntheticDataGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Real server, own database: events are read from the HTTP stream as a browser's EventSource would
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:livetest;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class LiveUpdateTests {
+
+    // One parsed server-sent event
+    private record Event(long id, String name, JsonNode data) {
+    }
+
+    // An open stream: its lines, copied into a queue on a background thread; closing it disconnects
+    private record OpenStream(BlockingQueue<String> lines, Stream<String> body) implements AutoCloseable {
+        @Override
+        public void close() {
+            body.close();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void subscribersReceiveCommittedEventsMatchingTheirFilter() throws Exception {
+        generator.generate(new SyntheticDataGenerator.Settings(13L, 3, 10, 0, 0.0, 30, 100));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UserEntity user = userRepository.save(new UserEntity("live-" + suffix, "secret", "Live", null, "Viewer",
+                "live-" + suffix + "@example.edu", null, "STUDENT"));
+        CategoryEntity category = referenceDataRegistry.getCategories().get(0);
+        CategoryEntity otherCategory = referenceDataRegistry.getCategories().get(1);
+        DepartmentEntity department = referenceDataRegistry.getDepartments().get(0);
+
+        try (OpenStream byCategory = open("?categoryId=" + category.getCategoryId(), null);
+                OpenStream claimsOnly = open("?types=claim-filed,claim-approved", null)) {
+            expectEvents(user, category, otherCategory, department, byCategory, claimsOnly);
+        }
+
+        HttpResponse<Void> badType = client.send(HttpRequest.newBuilder(uri("?types=item-deleted")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(badType.statusCode()).isEqualTo(400);
+    }
+
+    private void expectEvents(UserEntity user, CategoryEntity category, CategoryEntity otherCategory,
+            DepartmentEntity department, OpenStream byCategory, OpenStream claimsOnly) throws Exception {
+
+        itemService.reportFoundItem(new ItemEntity("Red scarf", "Wool", null, "Gym", null, null,
+                user, otherCategory, department));
+        ItemEntity lost = itemService.reportLostItem(new ItemEntity("Blue scarf", "Cotton", null, "Gym", null, null,
+                user, category, department));
+
+        Event created = next(byCategory);
+        assertThat(created.name()).isEqualTo("item-created");
+        assertThat(created.data().get("itemId").asLong()).isEqualTo(lost.getItemId());
+        assertThat(created.data().get("status").asText()).isEqualTo("LOST");
+        assertThat(created.data().get("categoryName").asText()).isEqualTo(category.getCategoryName());
+
+        ClaimEntity claim = new ClaimEntity();
+        claim.setItem(lost);
+        claim.setUser(user);
+        claim = claimService.fileNewClaim(claim);
+        // Targeted UPDATE without a read: the broadcaster looks up the item for the category filter
+        claimService.patchClaim(claim.getClaimId(), "APPROVED", true);
+
+        Event filed = next(byCategory);
+        assertThat(filed.name()).isEqualTo("claim-filed");
+        assertThat(filed.data().get("claimId").asLong()).isEqualTo(claim.getClaimId());
+        Event approved = next(byCategory);
+        assertThat(approved.name()).isEqualTo("claim-approved");
+        assertThat(approved.data().get("itemId").asLong()).isEqualTo(lost.getItemId());
+
+        assertThat(next(claimsOnly).name()).isEqualTo("claim-filed");
+        assertThat(next(claimsOnly).name()).isEqualTo("claim-approved");
+
+        // A reconnecting client gets what it missed since its last event
+        try (OpenStream resumed = open("?categoryId=" + category.getCategoryId(), created.id())) {
+            assertThat(next(resumed).id()).isEqualTo(filed.id());
+            assertThat(next(resumed).id()).isEqualTo(approved.id());
+        }
+    }
+
+    private URI uri(String query) {
+        return URI.create("http://localhost:" + port + "/api/events/stream" + query);
+    }
+
+    private OpenStream open(String query, Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(query)).header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                response.body().forEach(lines::add);
+            } catch (RuntimeException e) {
+                // Closed by the test
+            }
+        });
+        return new OpenStream(lines, response.body());
+    }
+
+    // Next event, skipping comments (connected, keepalive)
+    private Event next(OpenStream stream) throws Exception {
+        BlockingQueue<String> lines = stream.lines();
+        long id = 0;
+        String name = null;
+        StringBuilder data = new StringBuilder();
+        while (true) {
+            String line = lines.poll(5, TimeUnit.SECONDS);
+            assertThat(line).as("event within 5 s").isNotNull();
+            if (line.isEmpty()) {
+                if (name != null) {
+                    return new Event(id, name, objectMapper.readTree(data.toString()));
+                }
+            } else if (line.startsWith("id:")) {
+                id = Long.parseLong(line.substring(3).trim());
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring(5));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.wildcatsfinder.wildcats_finder.controller;
+
+import com.wildcatsfinder.wildcats_finder.config.QueryBudgetFilter;
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ClaimEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import com.wildcatsfinder.wildcats_finder.repository.CategoryRepository;
+import com.wildcatsfinder.wildcats_finder.repository.ClaimRepository;
+import com.wildcatsfinder.wildcats_finder.repository.DepartmentRepository;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import com.wildcatsfinder.wildcats_finder.repository.UserRepository;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex;
+import com.wildcatsfinder.wildcats_finder.service.ReferenceDataRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "query-budget.expose-header=true")
+@AutoConfigureMockMvc
+class PartialUpdateTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    private UserEntity owner;
+    private ItemEntity item;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        owner = userRepository.save(new UserEntity("patch-" + suffix, "secret", "Pat", null, "Cher",
+                "patch-" + suffix + "@example.edu", null, "STUDENT"));
+        CategoryEntity category = categoryRepository.save(new CategoryEntity("Keys-" + suffix, "Keys"));
+        DepartmentEntity department = departmentRepository.save(new DepartmentEntity("Gym-" + suffix, "East"));
+        referenceDataRegistry.refresh();
+        item = itemRepository.save(new ItemEntity("Car keys", "Blue lanyard", LocalDateTime.now(),
+                "Gym", null, ItemStatus.FOUND, owner, category, department));
+        itemSearchIndex.index(item);
+    }
+
+    @Test
+    void statusPatchIsASingleUpdate() throws Exception {
+        mockMvc.perform(patch("/api/items/" + item.getItemId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"RETURNED\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(QueryBudgetFilter.STATEMENTS_HEADER, "1"));
+
+        ItemEntity updated = itemRepository.findById(item.getItemId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(ItemStatus.RETURNED);
+        assertThat(updated.getItemTitle()).isEqualTo("Car keys");
+        assertThat(updated.getVersion()).isEqualTo(item.getVersion() + 1);
+        assertThat(itemSearchIndex.get(item.getItemId()).status()).isEqualTo(ItemStatus.RETURNED);
+    }
+
+    @Test
+    void fieldPatchKeepsOtherColumnsAndRejectsStaleVersion() throws Exception {
+        mockMvc.perform(patch("/api/items/" + item.getItemId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemTitle\":\"House keys\",\"version\":" + item.getVersion() + "}"))
+                .andExpect(status().isNoContent());
+
+        ItemEntity updated = itemRepository.findById(item.getItemId()).orElseThrow();
+        assertThat(updated.getItemTitle()).isEqualTo("House keys");
+        assertThat(updated.getItemDesc()).isEqualTo("Blue lanyard");
+        assertThat(itemSearchIndex.get(item.getItemId()).itemTitle()).isEqualTo("House keys");
+
+        // Same (now stale) version again
+        mockMvc.perform(patch("/api/items/" + item.getItemId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemTitle\":\"Bike keys\",\"version\":" + item.getVersion() + "}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/items/" + item.getItemId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"MISPLACED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void claimPatchIsASingleUpdate() throws Exception {
+        ClaimEntity claim = claimRepository.save(new ClaimEntity(LocalDateTime.now(), "PENDING", false,
+                "Blue lanyard with a bottle opener", item, owner));
+
+        mockMvc.perform(patch("/api/claims/" + claim.getClaimId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"APPROVED\",\"verified\":true}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(QueryBudgetFilter.STATEMENTS_HEADER, "1"));
+
+        ClaimEntity updated = claimRepository.findById(claim.getClaimId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo("APPROVED");
+        assertThat(updated.getVerified()).isTrue();
+        assertThat(updated.getVerificationAnswer()).isEqualTo("Blue lanyard with a bottle opener");
+    }
+}
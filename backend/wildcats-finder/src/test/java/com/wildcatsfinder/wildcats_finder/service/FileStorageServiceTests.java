@@ -0,0 +1,88 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileStorageServiceTests {
+
+    // PNG signature followed by some filler bytes
+    private static final byte[] PNG_BYTES = {
+            (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3, 4, 5, 6, 7, 8 };
+
+    @TempDir
+    Path dir;
+
+    private FileStorageService service;
+    private ImageVariantService imageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        imageVariantService = new ImageVariantService(1, 4);
+        service = new FileStorageService();
+        ReflectionTestUtils.setField(service, "uploadDir", dir.toString());
+        ReflectionTestUtils.setField(service, "maxUploadSize", 1024L);
+        ReflectionTestUtils.setField(service, "orphanGraceSeconds", 600L);
+        ReflectionTestUtils.setField(service, "imageVariantService", imageVariantService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageVariantService.shutdown();
+    }
+
+    @Test
+    void storesIdenticalContentOnceInShardedDirectories() throws Exception {
+        String first = service.storeStream(new ByteArrayInputStream(PNG_BYTES));
+        String second = service.storeStream(new ByteArrayInputStream(PNG_BYTES));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first).matches("[0-9a-f]{64}\\.png");
+        assertThat(service.resolveFile(first))
+                .isEqualTo(dir.toAbsolutePath().resolve(first.substring(0, 2)).resolve(first.substring(2, 4)).resolve(first));
+        assertThat(service.getContentHash(first)).isEqualTo(first.substring(0, 64));
+        // Variants (links to this tiny original) may appear next to it in the background
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertThat(files.filter(Files::isRegularFile).filter(path -> !path.getFileName().toString().contains("-")))
+                    .hasSize(1);
+        }
+    }
+
+    @Test
+    void stillResolvesLegacyFlatNames() throws Exception {
+        Files.write(dir.resolve("3f1c-legacy.png"), PNG_BYTES);
+
+        assertThat(service.resolveFile("3f1c-legacy.png")).exists();
+    }
+
+    @Test
+    void keepsRecentlyUploadedOrphansDuringGracePeriod() throws Exception {
+        String filename = service.storeStream(new ByteArrayInputStream(PNG_BYTES));
+
+        assertThat(service.deleteUnreferencedFile(filename)).isFalse();
+        assertThat(service.resolveFile(filename)).exists();
+
+        ReflectionTestUtils.setField(service, "orphanGraceSeconds", 0L);
+        Thread.sleep(5);
+        assertThat(service.deleteUnreferencedFile(filename)).isTrue();
+        try (Stream<Path> files = Files.walk(dir)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    void recognisesImagesBySignature() {
+        assertThat(FileStorageService.imageExtension(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF }, 3)).isEqualTo(".jpg");
+        assertThat(FileStorageService.imageExtension("GIF89a".getBytes(), 6)).isEqualTo(".gif");
+        assertThat(FileStorageService.imageExtension("RIFF\0\0\0\0WEBP".getBytes(), 12)).isEqualTo(".webp");
+    }
+}
@@ -0,0 +1,147 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageVariantServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private ImageVariantService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageVariantService(1, 4);
+        ReflectionTestUtils.setField(service, "thumbSize", 100);
+        ReflectionTestUtils.setField(service, "mediumSize", 400);
+        ReflectionTestUtils.setField(service, "maxPixels", 16_777_216L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void writesVariantsPreservingAspectRatio() throws Exception {
+        Path original = dir.resolve("photo.jpg");
+        ImageIO.write(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "jpg", original.toFile());
+
+        service.generateVariants(original);
+
+        BufferedImage thumb = ImageIO.read(dir.resolve("photo-thumb.jpg").toFile());
+        BufferedImage medium = ImageIO.read(dir.resolve("photo-medium.jpg").toFile());
+        assertThat(thumb.getWidth()).isEqualTo(100);
+        assertThat(thumb.getHeight()).isEqualTo(75);
+        assertThat(medium.getWidth()).isEqualTo(400);
+        assertThat(medium.getHeight()).isEqualTo(300);
+    }
+
+    @Test
+    void linksVariantsLargerThanTheOriginalToIt() throws Exception {
+        Path original = dir.resolve("small.png");
+        ImageIO.write(new BufferedImage(200, 50, BufferedImage.TYPE_INT_ARGB), "png", original.toFile());
+
+        service.generateVariants(original);
+
+        assertThat(ImageIO.read(dir.resolve("small-thumb.png").toFile()).getWidth()).isEqualTo(100);
+        assertThat(dir.resolve("small-medium.png")).hasSameBinaryContentAs(original);
+    }
+
+    @Test
+    void decodesHugeImagesSubsampled() throws Exception {
+        // 300 MB of pixels in a file of a few hundred KB
+        Path original = dir.resolve("huge.png");
+        writeBlankPng(original, 20000, 15000);
+        ReflectionTestUtils.setField(service, "maxPixels", 1_000_000L);
+
+        ImageVariantService.Decoded decoded = service.decode(original);
+        assertThat(decoded.width()).isEqualTo(20000);
+        assertThat(decoded.height()).isEqualTo(15000);
+        assertThat((long) decoded.image().getWidth() * decoded.image().getHeight()).isLessThanOrEqualTo(1_000_000L);
+
+        service.generateVariants(original);
+        BufferedImage thumb = ImageIO.read(dir.resolve("huge-thumb.png").toFile());
+        assertThat(thumb.getWidth()).isEqualTo(100);
+        assertThat(thumb.getHeight()).isEqualTo(75);
+        assertThat(ImageIO.read(dir.resolve("huge-medium.png").toFile()).getWidth()).isEqualTo(400);
+    }
+
+    @Test
+    void servesUndecodableFilesAsTheirOwnVariants() throws Exception {
+        Path original = dir.resolve("broken.png");
+        Files.write(original, new byte[] { 1, 2, 3 });
+
+        service.generateVariants(original);
+
+        assertThat(dir.resolve("broken-thumb.png")).hasSameBinaryContentAs(original);
+        assertThat(dir.resolve("broken-medium.png")).hasSameBinaryContentAs(original);
+    }
+
+    @Test
+    void leavesFormatsWithoutVariantsAlone() throws Exception {
+        Path original = dir.resolve("animation.gif");
+        Files.write(original, new byte[] { 'G', 'I', 'F', '8', '9', 'a' });
+
+        service.scheduleVariants(original);
+        service.shutdown();
+
+        assertThat(ImageVariantService.supportsVariants(original)).isFalse();
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactly(original);
+        }
+    }
+
+    // 8-bit greyscale PNG of the given size, all black, written row by row
+    private static void writeBlankPng(Path file, int width, int height) throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed, new Deflater(Deflater.BEST_SPEED))) {
+            byte[] row = new byte[width + 1]; // filter byte, then the pixels
+            for (int y = 0; y < height; y++) {
+                deflater.write(row);
+            }
+        }
+        ByteBuffer header = ByteBuffer.allocate(13).putInt(width).putInt(height).put(new byte[] { 8, 0, 0, 0, 0 });
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.write(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' });
+            writeChunk(out, "IHDR", header.array());
+            writeChunk(out, "IDAT", compressed.toByteArray());
+            writeChunk(out, "IEND", new byte[0]);
+        }
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] data) throws Exception {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+
+    @Test
+    void namesVariantsAfterTheOriginal() {
+        assertThat(ImageVariantService.variantFilename("abc.jpeg", ImageVariantService.Size.THUMB)).isEqualTo("abc-thumb.jpeg");
+        assertThat(ImageVariantService.variantFilename("abc", ImageVariantService.Size.MEDIUM)).isEqualTo("abc-medium");
+    }
+}
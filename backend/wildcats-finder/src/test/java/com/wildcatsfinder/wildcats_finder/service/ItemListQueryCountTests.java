@@ -0,0 +1,122 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildcatsfinder.wildcats_finder.dto.ItemCardView;
+import com.wildcatsfinder.wildcats_finder.dto.ItemDTO;
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Serializing an item list must cost a constant number of statements, however many items it holds
+@SpringBootTest
+@Transactional
+class ItemListQueryCountTests {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> indexedIds = new ArrayList<>();
+
+    private Long userId;
+
+    @AfterEach
+    void tearDown() {
+        // Test data is rolled back, so drop it from the shared index as well
+        indexedIds.forEach(itemSearchIndex::remove);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 15})
+    void listEndpointsUseOneStatementRegardlessOfSize(int itemCount) throws Exception {
+        createItems(itemCount);
+
+        assertSingleStatement(() -> itemService.getItemsByStatus(ItemStatus.FOUND), itemCount);
+        assertSingleStatement(() -> itemService.getAllItemsForDashboard(), itemCount);
+        assertSingleStatement(() -> itemService.getItemFeed(null, null, 100), itemCount);
+        assertSingleStatement(() -> itemService.getItemsByUserId(userId), itemCount);
+        assertSingleStatement(() -> itemService.searchItems("gadget", null, null), itemCount);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 15})
+    void cardProjectionsUseOneStatementAndNoEntities(int itemCount) throws Exception {
+        createItems(itemCount);
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemCardView> cards = itemService.getItemCardsByStatus(ItemStatus.FOUND);
+        objectMapper.writeValueAsString(cards);
+
+        assertThat(cards).hasSize(itemCount);
+        assertThat(cards.get(0).categoryName()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private void assertSingleStatement(Supplier<List<ItemEntity>> listCall, int expectedSize) throws Exception {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemEntity> items = listCall.get();
+        objectMapper.writeValueAsString(items);
+        objectMapper.writeValueAsString(items.stream().map(ItemDTO::new).toList());
+
+        assertThat(items).hasSize(expectedSize);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void createItems(int itemCount) {
+        UserEntity user = new UserEntity("n-plus-one-" + itemCount, "secret", "Query", null, "Counter",
+                "n-plus-one-" + itemCount + "@example.com", null, "USER");
+        entityManager.persist(user);
+        userId = user.getUserId();
+
+        // Every item gets its own category and department, the worst case for lazy loading
+        for (int i = 0; i < itemCount; i++) {
+            CategoryEntity category = new CategoryEntity("Category " + i, null);
+            DepartmentEntity department = new DepartmentEntity("Department " + i, "Building " + i);
+            entityManager.persist(category);
+            entityManager.persist(department);
+
+            ItemEntity item = new ItemEntity("Gadget " + i, "found gadget", LocalDateTime.now().minusHours(i),
+                    "Hallway", null, ItemStatus.FOUND, user, category, department);
+            entityManager.persist(item);
+            itemSearchIndex.index(item);
+            indexedIds.add(item.getItemId());
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,178 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.dto.ItemMatchView;
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import com.wildcatsfinder.wildcats_finder.repository.UserRepository;
+import com.wildcatsfinder.wildcats_finder.service.ItemMatchService.Match;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against its own database so the candidate blocks only hold the items seeded here
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:matchtest;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class ItemMatchServiceTests {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemMatchService itemMatchService;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private MatchScorer matchScorer;
+
+    @Test
+    void reportsAreMatchedWithinTheirCategoryAndDroppedOnceResolved() throws Exception {
+        generator.generate(new SyntheticDataGenerator.Settings(9L, 5, 40, 0, 0.0, 30, 100));
+        UserEntity user = userRepository.findAll().get(0);
+        CategoryEntity category = referenceDataRegistry.getCategories().get(0);
+        CategoryEntity otherCategory = referenceDataRegistry.getCategories().get(1);
+        DepartmentEntity department = referenceDataRegistry.getDepartments().get(0);
+
+        ItemEntity lost = itemService.reportLostItem(new ItemEntity("Zebra striped umbrella",
+                "Folding umbrella with a wooden handle", null, "Library second floor", null, null,
+                user, category, department));
+        ItemEntity found = itemService.reportFoundItem(new ItemEntity("Striped zebra umbrella",
+                "Wooden handle", null, "Library lobby", null, null, user, category, department));
+        ItemEntity elsewhere = itemService.reportFoundItem(new ItemEntity("Zebra striped umbrella",
+                "Folding umbrella with a wooden handle", null, "Library second floor", null, null,
+                user, otherCategory, department));
+
+        List<ItemMatchView> ofFound = await(found.getItemId(), matches -> !matches.isEmpty());
+        assertThat(ofFound.get(0).itemId()).isEqualTo(lost.getItemId());
+        assertThat(ofFound.get(0).score()).isBetween(itemMatchService.getMinScore(), 1.0);
+
+        List<ItemMatchView> ofLost = itemMatchService.getMatches(lost.getItemId());
+        assertThat(ofLost).extracting(ItemMatchView::itemId)
+                .contains(found.getItemId())
+                .doesNotContain(elsewhere.getItemId());
+        assertThat(ofLost.size()).isLessThanOrEqualTo(itemMatchService.getTopK());
+
+        itemService.updateItemStatus(found.getItemId(), ItemStatus.RETURNED);
+        assertThat(await(lost.getItemId(), matches -> matches.stream()
+                .noneMatch(match -> match.itemId().equals(found.getItemId()))))
+                .extracting(ItemMatchView::itemId).doesNotContain(found.getItemId());
+        assertThat(itemMatchService.getMatches(found.getItemId())).isEmpty();
+
+        // Deleting a matched item takes its match rows with it
+        ItemEntity again = itemService.reportFoundItem(new ItemEntity("Umbrella zebra stripes",
+                "Wooden handle", null, "Library", null, null, user, category, department));
+        assertThat(await(again.getItemId(), matches -> !matches.isEmpty())).isNotEmpty();
+        itemService.deleteItem(lost.getItemId());
+        assertThat(itemMatchService.getMatches(again.getItemId())).isEmpty();
+    }
+
+    @Test
+    void everyItemKeepsItsOwnTopMatchesWhateverOrderTheyAreReportedIn() throws Exception {
+        if (userRepository.count() == 0) {
+            generator.generate(new SyntheticDataGenerator.Settings(10L, 5, 40, 0, 0.0, 30, 100));
+        }
+        UserEntity user = userRepository.findAll().get(0);
+        CategoryEntity category = referenceDataRegistry.getCategories().get(2);
+        DepartmentEntity department = referenceDataRegistry.getDepartments().get(0);
+
+        // The lost report comes first, so it has no matches until the found reports arrive; more of them
+        // match it than it may keep
+        List<Long> ids = new ArrayList<>();
+        ItemEntity lost = itemService.reportLostItem(new ItemEntity("Blue hydro flask bottle",
+                "Steel water bottle with a dented blue lid", null, "Gym", null, null, user, category, department));
+        ids.add(lost.getItemId());
+        String[] titles = {"Blue hydro flask bottle", "Blue flask bottle", "Hydro flask bottle dented lid",
+                "Blue steel bottle", "Water bottle blue lid", "Dented blue flask", "Blue bottle"};
+        for (String title : titles) {
+            ids.add(itemService.reportFoundItem(new ItemEntity(title, "Steel water bottle", null, "Gym", null, null,
+                    user, category, department)).getItemId());
+        }
+        ItemEntity other = itemService.reportLostItem(new ItemEntity("Steel water bottle",
+                "Blue flask", null, "Gym", null, null, user, category, department));
+        ids.add(other.getItemId());
+
+        // Resolving or deleting an item frees a place in the lists that held it
+        itemService.updateItemStatus(ids.get(1), ItemStatus.RETURNED);
+        itemService.deleteItem(ids.get(2));
+        ids.remove(2);
+
+        assertThat(awaitStoredTopK(ids)).isTrue();
+        assertThat(itemMatchService.getMatches(lost.getItemId()))
+                .hasSize(itemMatchService.getTopK())
+                .extracting(ItemMatchView::itemId).doesNotContain(ids.get(1));
+    }
+
+    @Test
+    void departmentsInTheSameBuildingScoreAsNearby() {
+        DepartmentEntity department = referenceDataRegistry.getDepartments().get(0);
+        DepartmentEntity elsewhere = referenceDataRegistry.getDepartments().get(1);
+        DepartmentEntity annex = departmentService.createDepartment(new DepartmentEntity("Zz Annex Office",
+                " " + department.getLocation().toUpperCase() + " "));
+
+        double same = matchScorer.departmentProximity(department.getDepId(), department.getDepId());
+        double sameBuilding = matchScorer.departmentProximity(department.getDepId(), annex.getDepId());
+        double apart = matchScorer.departmentProximity(elsewhere.getDepId(), annex.getDepId());
+        assertThat(same).isEqualTo(1.0);
+        assertThat(sameBuilding).isBetween(0.0, 1.0).isNotIn(0.0, 1.0);
+        assertThat(apart).isZero();
+        assertThat(matchScorer.departmentProximity(department.getDepId(), null)).isZero();
+    }
+
+    // True once the stored list of every item equals its top-k computed from the index
+    private boolean awaitStoredTopK(List<Long> ids) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            boolean settled = true;
+            for (Long id : ids) {
+                Set<Long> expected = new HashSet<>();
+                for (Match match : itemMatchService.findMatches(itemSearchIndex.get(id))) {
+                    expected.add(match.candidateId());
+                }
+                Set<Long> stored = new HashSet<>();
+                for (ItemMatchView match : itemMatchService.getMatches(id)) {
+                    stored.add(match.itemId());
+                }
+                settled &= stored.equals(expected);
+            }
+            if (settled) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    // Matching runs in the background after each write
+    private List<ItemMatchView> await(Long itemId, Predicate<List<ItemMatchView>> done) throws InterruptedException {
+        List<ItemMatchView> matches = itemMatchService.getMatches(itemId);
+        for (int attempt = 0; attempt < 100 && !done.test(matches); attempt++) {
+            Thread.sleep(20);
+            matches = itemMatchService.getMatches(itemId);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,149 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Clause;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Field;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Hit;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Query;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.ResultPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTests {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.index(item(1L, "Black laptop", "Dell with stickers", "Library 2nd floor", "Electronics & Gadgets", 1));
+        index.index(item(2L, "Laptop charger", "USB-C", "Cafeteria", "Electronics & Gadgets", 2));
+        index.index(item(3L, "Blue umbrella", "left near the laptop tables", "Library lobby", "Others", 3));
+    }
+
+    @Test
+    void matchesTokenPrefixesAndRanksTitleHitsFirst() {
+        List<Long> ids = index.search(List.of(Clause.anyField("lap")), 10);
+
+        // Title matches outrank the description-only match, ties go to the newer item
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void requiresEveryClauseToMatch() {
+        List<Long> ids = index.search(List.of(
+                new Clause("laptop", EnumSet.of(Field.TITLE)),
+                new Clause("library", EnumSet.of(Field.LOCATION))), 10);
+
+        assertThat(ids).containsExactly(1L);
+    }
+
+    @Test
+    void queryAppliesFiltersAndPaginatesWithoutDuplicates() {
+        // "laptop" in the title and "library" in the location used to be concatenated, listing item 1 twice
+        Query query = new Query(null, "laptop", "library", null, null, null, null, null);
+        ResultPage page = index.query(query, 0, 10);
+        assertThat(page.hits()).extracting(Hit::itemId).containsExactly(1L);
+        assertThat(page.total()).isEqualTo(1);
+
+        Query byCategoryAndDate = new Query("lap", null, null, ItemStatus.FOUND, 2L, 9L,
+                LocalDateTime.now().minusDays(5), null);
+        assertThat(index.query(byCategoryAndDate, 0, 10).hits()).extracting(Hit::itemId).containsExactly(2L);
+
+        Query everything = new Query(null, null, null, null, null, null, null, null);
+        ResultPage second = index.query(everything, 1, 2);
+        assertThat(second.total()).isEqualTo(3);
+        assertThat(second.hits()).extracting(Hit::itemId).containsExactly(3L);
+    }
+
+    @Test
+    void filterOnlyQueriesReadTheMatchingBlocks() {
+        index.updateStatus(2L, ItemStatus.CLAIMED);
+
+        Query found = new Query(null, null, null, ItemStatus.FOUND, null, null, null, null);
+        assertThat(index.query(found, 0, 10).hits()).extracting(Hit::itemId).containsExactly(1L, 3L);
+
+        Query byCategory = new Query(null, null, null, null, 2L, null, null, null);
+        assertThat(index.query(byCategory, 0, 10).hits()).extracting(Hit::itemId).containsExactly(2L);
+
+        // The date window is [from, to)
+        LocalDateTime twoDaysAgo = LocalDateTime.now().minusDays(2);
+        assertThat(index.query(new Query(null, null, null, ItemStatus.FOUND, null, null, twoDaysAgo, null), 0, 10)
+                .hits()).extracting(Hit::itemId).containsExactly(1L);
+        assertThat(index.query(new Query(null, null, null, ItemStatus.FOUND, null, null, null, twoDaysAgo), 0, 10)
+                .hits()).extracting(Hit::itemId).containsExactly(3L);
+    }
+
+    @Test
+    void pagesPastTheLastHitAreEmpty() {
+        Query everything = new Query(null, null, null, null, null, null, null, null);
+
+        // page * size would overflow an int
+        ResultPage beyond = index.query(everything, Integer.MAX_VALUE, 100);
+        assertThat(beyond.hits()).isEmpty();
+        assertThat(beyond.total()).isEqualTo(3);
+    }
+
+    @Test
+    void reindexAndRemoveReplaceOldTerms() {
+        index.index(item(1L, "Red wallet", null, "Gym", "Personal Accessories", 1));
+        assertThat(index.search(List.of(Clause.anyField("black")), 10)).isEmpty();
+        assertThat(index.search(List.of(Clause.anyField("wallet")), 10)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search(List.of(Clause.anyField("wallet")), 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rebuildSwapsInAFullIndexAndKeepsWritesMadeMeanwhile() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        ReflectionTestUtils.setField(index, "itemRepository", itemRepository);
+        when(itemRepository.findSearchIndexBatch(eq(0L), any())).thenAnswer(invocation -> {
+            // Mid-rebuild: readers still see the old index, writers keep going
+            assertThat(index.size()).isEqualTo(3);
+            assertThat(index.search(List.of(Clause.anyField("umbrella")), 10)).containsExactly(3L);
+            index.remove(1L);
+            index.index(item(5L, "Green scarf", null, "Gym", "Clothing", 1));
+            // The table as read before those writes
+            return List.of(item(1L, "Black laptop", "Dell with stickers", "Library 2nd floor", "Electronics & Gadgets", 1),
+                    item(4L, "Grey hoodie", null, "Gym", "Clothing", 2));
+        });
+
+        index.rebuild();
+
+        assertThat(index.get(1L)).isNull();
+        assertThat(index.get(2L)).isNull();
+        assertThat(index.get(3L)).isNull();
+        assertThat(index.search(List.of(Clause.anyField("hoodie")), 10)).containsExactly(4L);
+        assertThat(index.search(List.of(Clause.anyField("scarf")), 10)).containsExactly(5L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private static ItemEntity item(Long id, String title, String desc, String location, String categoryName, int daysAgo) {
+        CategoryEntity category = new CategoryEntity(categoryName, null);
+        category.setCategoryId(id);
+        DepartmentEntity department = new DepartmentEntity("Library", "University Library");
+        department.setDepId(9L);
+
+        ItemEntity item = new ItemEntity(title, desc, LocalDateTime.now().minusDays(daysAgo), location, null,
+                ItemStatus.FOUND, null, category, department);
+        item.setItemId(id);
+        return item;
+    }
+}
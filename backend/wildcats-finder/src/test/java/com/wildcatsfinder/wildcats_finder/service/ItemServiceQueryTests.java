@@ -0,0 +1,103 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks that item filters run in the database and only hydrate the matching rows
+@SpringBootTest
+@Transactional
+class ItemServiceQueryTests {
+
+    private static final int OTHER_ITEMS = 40;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = new UserEntity("query-tester", "secret", "Query", null, "Tester",
+                "query-tester@example.com", null, "USER");
+        CategoryEntity category = new CategoryEntity("Keys", "Locker keys");
+        DepartmentEntity department = new DepartmentEntity("Library", "University Library");
+        entityManager.persist(user);
+        entityManager.persist(category);
+        entityManager.persist(department);
+
+        // Old items that match neither the description nor the date filters
+        for (int i = 0; i < OTHER_ITEMS; i++) {
+            entityManager.persist(new ItemEntity("Item " + i, "plain notebook " + i, now.minusDays(90 + i),
+                    "Library", null, ItemStatus.LOST, user, category, department));
+        }
+
+        // Recent items, two of which mention a blue umbrella
+        entityManager.persist(new ItemEntity("Umbrella", "Blue UMBRELLA with wooden handle", now.minusDays(2),
+                "Library", null, ItemStatus.FOUND, user, category, department));
+        entityManager.persist(new ItemEntity("Umbrella", "small blue umbrella", now.minusDays(5),
+                "Library", null, ItemStatus.LOST, user, category, department));
+        entityManager.persist(new ItemEntity("Wallet", "brown leather wallet", now.minusDays(10),
+                "Library", null, ItemStatus.LOST, user, category, department));
+
+        // Start every test from an empty persistence context so reads hit the database
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void searchItemsByDescriptionFetchesOnlyMatchingRows() {
+        List<ItemEntity> items = itemService.searchItemsByDescription("blue umbrella");
+
+        assertThat(items).hasSize(2);
+        assertThat(itemLoadCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getItemsBetweenDatesFetchesOnlyMatchingRows() {
+        List<ItemEntity> items = itemService.getItemsBetweenDates(now.minusDays(7), now);
+
+        assertThat(items).hasSize(2);
+        assertThat(itemLoadCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getRecentItemsFetchesOnlyMatchingRows() {
+        List<ItemEntity> items = itemService.getRecentItems();
+
+        assertThat(items).hasSize(3);
+        assertThat(itemLoadCount()).isEqualTo(3);
+    }
+
+    // Item rows hydrated since setUp (category/department rows are not counted)
+    private long itemLoadCount() {
+        return statistics.getEntityStatistics(ItemEntity.class.getName()).getLoadCount();
+    }
+}
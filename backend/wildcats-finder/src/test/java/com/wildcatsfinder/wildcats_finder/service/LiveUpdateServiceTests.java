@@ -0,0 +1,106 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.service.LiveUpdateService.Filter;
+import com.wildcatsfinder.wildcats_finder.service.LiveUpdateService.LiveEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Small buffers so a stalled subscriber is evicted after a few events
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:livesubscribertest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "live.buffer-size=2"
+})
+class LiveUpdateServiceTests {
+
+    // A client whose socket write never returns until released; like ResponseBodyEmitter, send() and
+    // complete() share a write lock, so complete() waits for the stuck write
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writeLock.lock();
+            try {
+                // Interrupts do not unblock a socket write
+                while (true) {
+                    try {
+                        release.await();
+                        return;
+                    } catch (InterruptedException e) {
+                        // keep waiting
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void complete() {
+            writeLock.lock();
+            try {
+                completed.countDown();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    // A client that keeps up: every event is recorded
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<SseEventBuilder> received = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.add(builder);
+        }
+    }
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Test
+    void aStalledSubscriberIsDroppedWithoutHoldingUpTheOthers() throws Exception {
+        Filter everything = new Filter(null, null, null, null);
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter recording = new RecordingEmitter();
+        liveUpdateService.subscribe(stalled, everything, null);
+        liveUpdateService.subscribe(recording, everything, null);
+
+        try {
+            // The stalled client's buffer fills up after two events and it is dropped; the other keeps receiving
+            assertThat(recording.received.poll(5, TimeUnit.SECONDS)).as("connected").isNotNull();
+            for (int i = 0; i < 6; i++) {
+                liveUpdateService.onCommitted(new LiveEvent(LiveUpdateService.ITEM_CREATED, null, null, "LOST"));
+                assertThat(recording.received.poll(5, TimeUnit.SECONDS)).as("event " + i).isNotNull();
+            }
+            assertThat(liveUpdateService.getSubscriberCount()).isEqualTo(1);
+            liveUpdateService.heartbeat();
+            assertThat(recording.received.poll(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(stalled.completed.getCount()).isEqualTo(1);
+        } finally {
+            stalled.release.countDown();
+        }
+
+        // Its own thread completes the stream once the write returns
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        recording.complete();
+    }
+}
@@ -0,0 +1,89 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.service.ItemMatchService.Match;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.Block;
+import com.wildcatsfinder.wildcats_finder.service.ItemSearchIndex.IndexedItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against its own seeded database; small batches and buckets so the job writes many batches
+// from many partitions
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rematchtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "matching.rematch.bucket-days=7",
+        "matching.rematch.batch-size=50",
+        "matching.rematch.parallelism=4"
+})
+class RematchJobTests {
+
+    @Autowired
+    private RematchJob rematchJob;
+
+    @Autowired
+    private ItemMatchService itemMatchService;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rematchStoresTheTopMatchesOfEveryOpenItem() {
+        generator.generate(new SyntheticDataGenerator.Settings(11L, 10, 600, 0, 0.0, 90, 100));
+
+        // Expected rows: every open item's own top-k
+        Set<String> expected = new HashSet<>();
+        long openItems = 0;
+        for (Block block : itemSearchIndex.blocks()) {
+            if (block.status() != ItemStatus.LOST && block.status() != ItemStatus.FOUND) {
+                continue;
+            }
+            for (IndexedItem item : itemSearchIndex.block(block.categoryId(), block.status(),
+                    LocalDateTime.MIN, LocalDateTime.MAX)) {
+                openItems++;
+                for (Match match : itemMatchService.findMatches(item)) {
+                    expected.add(match.itemId() + ":" + match.candidateId());
+                }
+            }
+        }
+        assertThat(expected).isNotEmpty();
+
+        RematchJob.Progress progress = rematchJob.run();
+        assertThat(progress.state()).isEqualTo(RematchJob.State.COMPLETED);
+        assertThat(progress.itemsTotal()).isEqualTo(openItems);
+        assertThat(progress.itemsScored()).isEqualTo(openItems);
+        assertThat(progress.partitionsDone()).isEqualTo(progress.partitions()).isGreaterThan(1);
+        assertThat(progress.matchesWritten()).isEqualTo(expected.size());
+
+        List<String> stored = jdbcTemplate.queryForList(
+                "SELECT CONCAT(item_id, ':', candidate_id) FROM item_matches", String.class);
+        assertThat(stored).doesNotHaveDuplicates();
+        assertThat(new HashSet<>(stored)).isEqualTo(expected);
+
+        // A second run replaces the rows instead of adding to them, and drops those of items no longer open
+        Long closed = jdbcTemplate.queryForObject(
+                "SELECT MIN(item_id) FROM items WHERE status NOT IN ('LOST', 'FOUND')", Long.class);
+        jdbcTemplate.update("INSERT INTO item_matches (item_id, candidate_id, score, matched_at) VALUES (?, ?, 0.9, ?)",
+                closed, expected.iterator().next().split(":")[0], LocalDateTime.now().minusDays(1));
+        progress = rematchJob.run();
+        assertThat(progress.matchesWritten()).isEqualTo(expected.size());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_matches", Long.class))
+                .isEqualTo(expected.size());
+    }
+}
@@ -0,0 +1,190 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.dto.ItemDTO;
+import com.wildcatsfinder.wildcats_finder.entity.CategoryEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ClaimEntity;
+import com.wildcatsfinder.wildcats_finder.entity.DepartmentEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.entity.UserEntity;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import com.wildcatsfinder.wildcats_finder.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against its own database so the counted rows are known
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:statstest;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class StatisticsServiceTests {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countersFollowWritesAndMatchSql() throws Exception {
+        generator.generate(new SyntheticDataGenerator.Settings(5L, 15, 300, 0, 0.0, 60, 100));
+        assertMatchesSql();
+
+        ItemEntity template = itemRepository.findById(jdbcTemplate.queryForObject(
+                "SELECT MIN(item_id) FROM items", Long.class)).orElseThrow();
+        ItemEntity item = new ItemEntity("Grey scarf", "Wool", LocalDateTime.now(), "Canteen", null,
+                ItemStatus.FOUND, template.getUser(),
+                referenceDataRegistry.getCategories().get(0), referenceDataRegistry.getDepartments().get(0));
+        item = itemService.reportFoundItem(item);
+
+        ItemDTO patch = new ItemDTO();
+        patch.setStatus("RETURNED");
+        itemService.patchItem(item.getItemId(), patch);
+
+        ClaimEntity claim = new ClaimEntity();
+        claim.setItem(item);
+        claim.setUser(template.getUser());
+        claim.setVerificationAnswer("Grey wool");
+        claim = claimService.fileNewClaim(claim);
+        claimService.approveClaim(claim.getClaimId());
+        assertMatchesSql();
+
+        // Every targeted status change moves one claim; repeating one moves none
+        ClaimEntity other = new ClaimEntity();
+        other.setItem(item);
+        other.setUser(template.getUser());
+        other = claimService.fileNewClaim(other);
+        claimService.rejectClaim(other.getClaimId());
+        claimService.rejectClaim(other.getClaimId());
+        claimService.patchClaim(other.getClaimId(), "PENDING", null);
+        claimService.updateClaimStatus(claim.getClaimId(), "REJECTED");
+        assertMatchesSql();
+
+        itemService.deleteItem(item.getItemId());
+        assertMatchesSql();
+    }
+
+    @Test
+    void writesOnlyCountOnceCommitted() throws Exception {
+        UserEntity user = userRepository.save(new UserEntity("rollback-tester", "secret", "Rollback", null, "Tester",
+                "rollback-tester@example.edu", null, "STUDENT"));
+        ItemEntity item = itemService.reportFoundItem(new ItemEntity("Red umbrella", "Folding", LocalDateTime.now(),
+                "Gym", null, ItemStatus.FOUND, user,
+                referenceDataRegistry.getCategories().get(0), referenceDataRegistry.getDepartments().get(0)));
+        Long itemId = item.getItemId();
+        Object before = statisticsService.getStatistics().get("items");
+
+        transactionTemplate.executeWithoutResult(transaction -> {
+            itemService.updateItemStatus(itemId, ItemStatus.RETURNED);
+            ClaimEntity claim = new ClaimEntity();
+            claim.setItem(itemRepository.getReferenceById(itemId));
+            claim.setUser(user);
+            claimService.approveClaim(claimService.fileNewClaim(claim).getClaimId());
+            itemService.reportFoundItem(new ItemEntity("Blue umbrella", "Folding", LocalDateTime.now(),
+                    "Gym", null, ItemStatus.FOUND, user,
+                    referenceDataRegistry.getCategories().get(0), referenceDataRegistry.getDepartments().get(0)));
+            // Not committed yet: nothing outside the transaction has seen the writes
+            assertThat(itemSearchIndex.get(itemId).status()).isEqualTo(ItemStatus.FOUND);
+            assertThat(statisticsService.getStatistics().get("items")).isEqualTo(before);
+            transaction.setRollbackOnly();
+        });
+
+        assertThat(itemSearchIndex.get(itemId).status()).isEqualTo(ItemStatus.FOUND);
+        assertThat(statisticsService.getStatistics().get("items")).isEqualTo(before);
+        assertMatchesSql();
+        assertThat(count("claims WHERE item_id = " + itemId)).isZero();
+
+        itemService.updateItemStatus(itemId, ItemStatus.RETURNED);
+        assertThat(itemSearchIndex.get(itemId).status()).isEqualTo(ItemStatus.RETURNED);
+        assertMatchesSql();
+    }
+
+    @Test
+    void deletingACategoryOrDepartmentDropsItsItems() {
+        UserEntity user = userRepository.save(new UserEntity("cascade-tester", "secret", "Cascade", null, "Tester",
+                "cascade-tester@example.edu", null, "STUDENT"));
+        CategoryEntity category = categoryService.createCategory(new CategoryEntity("Umbrellas", "Rain gear"));
+        DepartmentEntity department = departmentService.createDepartment(new DepartmentEntity("Annex", "Annex"));
+        ItemEntity inCategory = itemService.reportFoundItem(new ItemEntity("Black umbrella", "Folding",
+                LocalDateTime.now(), "Gym", null, ItemStatus.FOUND, user,
+                category, referenceDataRegistry.getDepartments().get(0)));
+        ItemEntity inDepartment = itemService.reportLostItem(new ItemEntity("Green umbrella", "Long",
+                LocalDateTime.now(), "Annex", null, ItemStatus.LOST, user,
+                referenceDataRegistry.getCategories().get(0), department));
+        ClaimEntity claim = new ClaimEntity();
+        claim.setItem(inCategory);
+        claim.setUser(user);
+        claimService.fileNewClaim(claim);
+        assertMatchesSql();
+
+        categoryService.deleteCategory(category.getCategoryId());
+        assertThat(itemSearchIndex.get(inCategory.getItemId())).isNull();
+        assertMatchesSql();
+
+        departmentService.deleteDepartment(department.getDepId());
+        assertThat(itemSearchIndex.get(inDepartment.getItemId())).isNull();
+        assertMatchesSql();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertMatchesSql() {
+        Map<String, Long> expectedClaims = Map.of(
+                "PENDING", count("claims WHERE status = 'PENDING'"),
+                "APPROVED", count("claims WHERE status = 'APPROVED'"),
+                "REJECTED", count("claims WHERE status = 'REJECTED'"));
+        Map<String, Object> stats = statisticsService.getStatistics();
+
+        Map<String, Object> items = (Map<String, Object>) stats.get("items");
+        Map<String, Long> byStatus = (Map<String, Long>) items.get("byStatus");
+        assertThat(items.get("total")).isEqualTo(count("items"));
+        for (ItemStatus status : ItemStatus.values()) {
+            assertThat(byStatus.get(status.name())).as(status.name())
+                    .isEqualTo(count("items WHERE status = '" + status.name() + "'"));
+        }
+        Map<String, Long> byCategory = (Map<String, Long>) items.get("byCategory");
+        assertThat(byCategory.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(count("items"));
+
+        assertThat(((Map<String, Object>) stats.get("claims")).get("byStatus")).isEqualTo(expectedClaims);
+    }
+
+    private long count(String from) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + from, Long.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.wildcatsfinder.wildcats_finder.service;
+
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity;
+import com.wildcatsfinder.wildcats_finder.entity.ItemEntity.ItemStatus;
+import com.wildcatsfinder.wildcats_finder.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against its own database so the generated rows don't leak into other tests
+@SpringBootTest
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:seedtest;MODE=MySQL;DB_CLOSE_DELAY=-1")
+class SyntheticDataGeneratorTests {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generatesConsistentDataAndKeepsIdentitiesUsable() {
+        SyntheticDataGenerator.Summary summary = generator.generate(
+                new SyntheticDataGenerator.Settings(7L, 50, 2000, 3, 0.5, 365, 250));
+
+        assertThat(count("users")).isEqualTo(50);
+        assertThat(count("items")).isEqualTo(2000);
+        assertThat(count("claims")).isEqualTo(summary.claims()).isPositive();
+        assertThat(itemSearchIndex.size()).isEqualTo(2000);
+        assertThat(summary.imageFilenames()).hasSize(3);
+
+        // Every status occurs, LOST most often; no report lies in the future
+        assertThat(itemRepository.findByStatus(ItemStatus.LOST).size())
+                .isGreaterThan(itemRepository.findByStatus(ItemStatus.RETURNED).size())
+                .isPositive();
+        assertThat(count("items WHERE date_report > CURRENT_TIMESTAMP")).isZero();
+        // Approved claims only exist for items that were handed over
+        assertThat(count("claims c JOIN items i ON i.item_id = c.item_id WHERE c.status = 'APPROVED' AND i.status NOT IN ('CLAIMED', 'RETURNED')")).isZero();
+
+        // Regular inserts still get fresh ids after the explicit-id bulk load
+        ItemEntity template = itemRepository.findById(summary.firstItemId()).orElseThrow();
+        ItemEntity item = new ItemEntity();
+        item.setItemTitle("Red umbrella");
+        item.setStatus(ItemStatus.FOUND);
+        item.setDateReport(LocalDateTime.now());
+        item.setUser(template.getUser());
+        item.setCategory(template.getCategory());
+        item.setDepartment(template.getDepartment());
+        assertThat(itemRepository.save(item).getItemId()).isGreaterThan(summary.lastItemId());
+    }
+
+    private long count(String from) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + from, Long.class);
+    }
+}
@@ -46,6 +46,46 @@ function AdminDashboard() {
     fetchItems();
   }, []);
 
+  // Live updates: patch the loaded lists from the server's event stream instead of re-fetching them.
+  // EventSource reconnects on its own and the server replays what was missed (Last-Event-ID).
+  useEffect(() => {
+    const source = new EventSource('http://localhost:8080/api/events/stream');
+
+    source.addEventListener('item-created', async (e) => {
+      const event = JSON.parse(e.data);
+      const response = await fetch(`http://localhost:8080/api/items/${event.itemId}`);
+      if (response.ok) {
+        const item = await response.json();
+        setItems(prev => [item, ...prev.filter(i => i.itemId !== item.itemId)]);
+      }
+    });
+
+    source.addEventListener('item-status-changed', (e) => {
+      const event = JSON.parse(e.data);
+      setItems(prev => prev.map(i => i.itemId === event.itemId ? { ...i, status: event.status } : i));
+    });
+
+    source.addEventListener('claim-filed', async (e) => {
+      const event = JSON.parse(e.data);
+      const response = await fetch(`http://localhost:8080/api/claims/${event.claimId}`);
+      if (response.ok) {
+        const claim = await response.json();
+        setClaims(prev => [...prev.filter(c => c.claimId !== claim.claimId), claim]);
+      }
+    });
+
+    const applyClaimStatus = (e) => {
+      const event = JSON.parse(e.data);
+      setClaims(prev => prev.map(c => c.claimId === event.claimId
+        ? { ...c, status: event.status, verified: event.status === 'APPROVED' }
+        : c));
+    };
+    source.addEventListener('claim-approved', applyClaimStatus);
+    source.addEventListener('claim-rejected', applyClaimStatus);
+
+    return () => source.close();
+  }, []);
+
   const fetchItems = async () => {
     setLoading(true);
     try {
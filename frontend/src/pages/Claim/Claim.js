@@ -19,15 +19,26 @@ function Claim() {
       const userItems = await itemsResponse.json();
       console.log("User's items:", userItems);
 
-      // For each item, fetch the claims
-      const claimsPromises = userItems.map(item =>
-        fetch(`http://localhost:8080/api/claims/item/${item.itemId}`)
+      // One request for the claim counts of all items, then fetch claims only for items that have any
+      let claimCounts = {};
+      if (userItems.length > 0) {
+        const ids = userItems.map(item => item.itemId).join(",");
+        const countsResponse = await fetch(`http://localhost:8080/api/claims/counts?itemIds=${ids}`);
+        claimCounts = countsResponse.ok ? await countsResponse.json() : {};
+      }
+
+      const claimsPromises = userItems.map(item => {
+        const count = claimCounts[item.itemId];
+        if (count && count.total === 0) {
+          return Promise.resolve([]);
+        }
+        return fetch(`http://localhost:8080/api/claims/item/${item.itemId}`)
           .then(res => res.json())
           .catch(err => {
             console.error(`Error fetching claims for item ${item.itemId}:`, err);
             return [];
-          })
-      );
+          });
+      });
       
       const claimsArrays = await Promise.all(claimsPromises);
       console.log("Claims arrays:", claimsArrays);
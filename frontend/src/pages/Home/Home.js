@@ -17,10 +17,13 @@ function Home() {
   const [lostCount, setLostCount] = useState(0);
   const [foundCount, setFoundCount] = useState(0);
   const [reunitedCount, setReunitedCount] = useState(0);
+  const [myItems, setMyItems] = useState([]);
   const [items, setItems] = useState([]);
   const [filter, setFilter] = useState("all");
   const [loading, setLoading] = useState(true);
   const [searchQuery, setSearchQuery] = useState("");
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   // --- New AI Assistant States ---
   const [showAIChat, setShowAIChat] = useState(false);
@@ -49,128 +52,144 @@ function Home() {
     };
   }, [showChatBubble, showAIChat]);
 
+  // --- Item feed: keyset-paginated, one page per request ---
+  const FEED_PAGE_SIZE = 24;
+
+  // Filter buttons -> item status on the server
+  const STATUS_FILTERS = { lost: "LOST", found: "FOUND", reunited: "CLAIMED" };
+
+  // Status filter and search run on the server over every item, not just the loaded pages
+  const isFiltered = filter !== "all" || searchQuery.trim() !== "";
+
+  const fetchFeedPage = async (cursor) => {
+    const params = new URLSearchParams({ limit: FEED_PAGE_SIZE });
+    if (cursor) params.set("after", cursor);
+
+    const res = await fetch(`http://localhost:8080/api/items/feed?${params}`);
+    if (!res.ok) {
+      throw new Error(`Failed to fetch items: ${res.status}`);
+    }
+    const data = await res.json();
+    return {
+      items: Array.isArray(data.items) ? data.items : [],
+      nextCursor: data.hasMore ? data.nextCursor : null,
+    };
+  };
+
+  // --- Filtered or searched items: offset-paginated /api/items/query, the cursor is the next page number ---
+  const fetchQueryPage = async (pageNumber) => {
+    const page = pageNumber || 0;
+    const params = new URLSearchParams({ page, size: FEED_PAGE_SIZE });
+    if (searchQuery.trim()) params.set("q", searchQuery.trim());
+    if (STATUS_FILTERS[filter]) params.set("status", STATUS_FILTERS[filter]);
+
+    const res = await fetch(`http://localhost:8080/api/items/query?${params}`);
+    if (!res.ok) {
+      throw new Error(`Failed to search items: ${res.status}`);
+    }
+    const data = await res.json();
+    return {
+      items: Array.isArray(data.results) ? data.results.map(result => result.item) : [],
+      nextCursor: data.hasMore ? page + 1 : null,
+    };
+  };
+
+  const fetchPage = (cursor) => (isFiltered ? fetchQueryPage(cursor) : fetchFeedPage(cursor));
+
+  const loadMoreItems = async () => {
+    if (!nextCursor || loadingMore) return;
+    try {
+      setLoadingMore(true);
+      const page = await fetchPage(nextCursor);
+      setItems(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      console.error("Error loading more items:", err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const getFirstName = () => {
     if (!user) return "";
     return user.fname || user.username || "";
   };
 
-  // --- DEBUG: Test the API endpoint directly ---
-  useEffect(() => {
-    const testApiEndpoint = async () => {
-      try {
-        console.log("Testing API endpoint: http://localhost:8080/api/items");
-        const response = await fetch("http://localhost:8080/api/items");
-        console.log("Response status:", response.status);
-        console.log("Response headers:", response.headers);
-        
-        const text = await response.text();
-        console.log("Raw response text:", text);
-        
-        if (text) {
-          try {
-            const data = JSON.parse(text);
-            console.log("Parsed JSON data:", data);
-          } catch (e) {
-            console.error("Failed to parse JSON:", e);
-          }
-        } else {
-          console.log("Empty response");
-        }
-      } catch (error) {
-        console.error("API test error:", error);
-      }
-    };
-    
-    testApiEndpoint();
-  }, []);
-
-  // --- Fetch ALL items (not just user's items) ---
+  // --- First page of the feed (newest first), or of the filtered/searched items ---
   useEffect(() => {
-    async function fetchAllItems() {
+    let cancelled = false;
+    // Typing only searches once the user pauses
+    const timer = setTimeout(async () => {
       try {
-        console.log("Fetching ALL items from API...");
         setLoading(true);
-        
-        const res = await fetch("http://localhost:8080/api/items");
-        console.log("API Response status:", res.status);
-        
-        if (!res.ok) {
-          console.error("API Error - Status:", res.status);
-          const errorText = await res.text();
-          console.error("API Error - Response:", errorText);
-          throw new Error(`Failed to fetch items: ${res.status}`);
-        }
-        
-        const data = await res.json();
-        console.log("API Success - Data received:", data);
-        console.log("Data type:", typeof data);
-        console.log("Is array?", Array.isArray(data));
-        
-        if (Array.isArray(data)) {
-          console.log(`Found ${data.length} items`);
-          setItems(data);
-        } else {
-          console.warn("Data is not an array, converting to array");
-          setItems([data]);
-        }
+        const page = await fetchPage(null);
+        if (cancelled) return;
+        setItems(page.items);
+        setNextCursor(page.nextCursor);
       } catch (err) {
+        if (cancelled) return;
         console.error("Error fetching items:", err);
         setItems([]);
+        setNextCursor(null);
       } finally {
-        setLoading(false);
+        if (!cancelled) setLoading(false);
       }
-    }
+    }, searchQuery ? 300 : 0);
 
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [filter, searchQuery]);
+
+  // --- Stat cards: totals over every item from /api/stats ---
+  useEffect(() => {
     async function fetchStats() {
       try {
-        console.log("Fetching stats...");
-        const statsRes = await fetch("http://localhost:8080/api/items/stats");
-        
-        if (statsRes.ok) {
-          const statsData = await statsRes.json();
-          console.log("Stats data:", statsData);
-          if (statsData) {
-            setActiveCount(statsData.active || 0);
-            setLostCount(statsData.lost || 0);
-            setFoundCount(statsData.found || 0);
-            setReunitedCount(statsData.reunited || 0);
-            return;
-          }
-        } else {
-          console.warn("Stats endpoint failed, will calculate from items");
+        const statsRes = await fetch("http://localhost:8080/api/stats");
+        if (!statsRes.ok) {
+          throw new Error(`Failed to fetch stats: ${statsRes.status}`);
         }
-        
-        // If stats endpoint fails, fetch items and calculate
-        await fetchAllItems();
+        const statsData = await statsRes.json();
+        const byStatus = (statsData && statsData.items && statsData.items.byStatus) || {};
+        const lost = byStatus.LOST || 0;
+        const found = byStatus.FOUND || 0;
+
+        setActiveCount(lost + found);
+        setLostCount(lost);
+        setFoundCount(found);
+        setReunitedCount(byStatus.CLAIMED || 0);
       } catch (e) {
         console.warn("Stats fetch error:", e);
-        fetchAllItems();
       }
     }
 
     fetchStats();
   }, []);
 
-  // Calculate stats from items
+  // --- The user's own reports, for "My Reports" and the AI assistant ---
   useEffect(() => {
-    if (items.length > 0) {
-      console.log("Calculating stats from", items.length, "items");
-      
-      const lostItems = items.filter(item => item.status === "LOST").length;
-      const foundItems = items.filter(item => item.status === "FOUND").length;
-      const reunitedItems = items.filter(item => item.status === "REUNITED").length;
-      const activeItems = lostItems + foundItems;
-
-      console.log("Lost:", lostItems, "Found:", foundItems, "Reunited:", reunitedItems, "Active:", activeItems);
+    if (!user || !user.userId) {
+      setMyItems([]);
+      return;
+    }
 
-      setActiveCount(activeItems);
-      setLostCount(lostItems);
-      setFoundCount(foundItems);
-      setReunitedCount(reunitedItems);
-    } else {
-      console.log("No items to calculate stats from");
+    async function fetchMyItems() {
+      try {
+        const res = await fetch(`http://localhost:8080/api/items/user/${user.userId}`);
+        if (!res.ok) {
+          throw new Error(`Failed to fetch your items: ${res.status}`);
+        }
+        const data = await res.json();
+        setMyItems(Array.isArray(data) ? data : []);
+      } catch (e) {
+        console.warn("My items fetch error:", e);
+        setMyItems([]);
+      }
     }
-  }, [items]);
+
+    fetchMyItems();
+  }, [user]);
 
   // --- New AI Assistant Functions ---
   const handleAIAssistantClick = () => {
@@ -184,12 +203,9 @@ function Home() {
     setAiMessage("Finding your items, based on your report details...");
     setAiResults([]);
 
-    // Simulate AI processing time
-    await new Promise(resolve => setTimeout(resolve, 2000));
-
     try {
       // Get user's reported items
-      const userItems = items.filter(item => user && item.userId === user.userId);
+      const userItems = myItems;
       
       if (userItems.length === 0) {
         setAiMessage("You haven't reported any items yet. Report some items first for AI to help you!");
@@ -197,8 +213,6 @@ function Home() {
         return;
       }
 
-      // For demo purposes, we'll simulate AI finding matches
-      // In a real app, you'd call an AI API here
       const lostItems = userItems.filter(item => item.status === "LOST");
       
       if (lostItems.length === 0) {
@@ -207,31 +221,25 @@ function Home() {
         return;
       }
 
-      // Find potential matches for lost items
+      // Found reports the server matched to each lost item (same category, similar wording, close in time)
       const potentialMatches = [];
-      lostItems.forEach(lostItem => {
-        // Look for found items with similar characteristics
-        const matches = items.filter(item => 
-          item.status === "FOUND" && 
-          item.userId !== user.userId &&
-          (
-            (item.categoryName && lostItem.categoryName && 
-             item.categoryName.toLowerCase() === lostItem.categoryName.toLowerCase()) ||
-            (item.location && lostItem.location && 
-             item.location.toLowerCase().includes(lostItem.location.toLowerCase())) ||
-            (item.itemTitle && lostItem.itemTitle && 
-             item.itemTitle.toLowerCase().includes(lostItem.itemTitle.toLowerCase()))
-          )
-        );
+      await Promise.all(lostItems.map(async (lostItem) => {
+        const res = await fetch(`http://localhost:8080/api/items/${lostItem.itemId}/matches`);
+        if (!res.ok) {
+          throw new Error(`Failed to fetch matches: ${res.status}`);
+        }
+        const matches = await res.json();
 
         matches.forEach(match => {
           potentialMatches.push({
             lostItem: lostItem,
-            foundItem: match,
-            confidence: Math.floor(Math.random() * 30) + 70 // 70-100% confidence for demo
+            // Matches are always in the lost item's category
+            foundItem: { ...match, categoryName: lostItem.categoryName },
+            confidence: Math.round(match.score * 100)
           });
         });
-      });
+      }));
+      potentialMatches.sort((a, b) => b.confidence - a.confidence);
 
       if (potentialMatches.length > 0) {
         setAiMessage(`Found ${potentialMatches.length} potential match${potentialMatches.length > 1 ? 'es' : ''} for your lost items!`);
@@ -262,27 +270,6 @@ function Home() {
     });
   };
 
-  // Filter items based on selected filter and search query
-  const filteredItems = items.filter(item => {
-    // Apply status filter
-    if (filter === "lost" && item.status !== "LOST") return false;
-    if (filter === "found" && item.status !== "FOUND") return false;
-    if (filter === "reunited" && item.status !== "REUNITED") return false;
-    
-    // Apply search filter
-    if (searchQuery) {
-      const query = searchQuery.toLowerCase();
-      return ( 
-        (item.itemTitle && item.itemTitle.toLowerCase().includes(query)) ||
-        (item.itemDesc && item.itemDesc.toLowerCase().includes(query)) ||
-        (item.location && item.location.toLowerCase().includes(query)) ||
-        (item.categoryName && item.categoryName.toLowerCase().includes(query))
-      );
-    }
-    
-    return true;
-  });
-
   // Handle search input change
   const handleSearchChange = (e) => {
     setSearchQuery(e.target.value);
@@ -299,6 +286,7 @@ function Home() {
       case "LOST": return { className: "lost", text: "Lost" };
       case "FOUND": return { className: "found", text: "Found" };
       case "REUNITED": return { className: "reunited", text: "Reunited" };
+      case "CLAIMED": return { className: "reunited", text: "Claimed" };
       default: return { className: "unknown", text: status };
     }
   };
@@ -412,7 +400,7 @@ const handleMineButtonClick = async (item) => {
           <StatCard count={lostCount} label="Lost" />
           <StatCard count={foundCount} label="Found" />
           <StatCard count={reunitedCount} label="Claim" />
-          {user && (<><StatCard count={items.filter(item => item.userId === user.userId).length} label="My Reports" /></>)}
+          {user && (<><StatCard count={myItems.length} label="My Reports" /></>)}
         </div>
       </div>
 
@@ -468,10 +456,10 @@ const handleMineButtonClick = async (item) => {
             <div className="loading-message">
               <p>Loading items...</p>
             </div>
-          ) : filteredItems.length === 0 ? (
+          ) : items.length === 0 ? (
             <div className="empty-message">
               <p>No items found. {searchQuery && "Try a different search term."}</p>
-              {items.length === 0 && (
+              {!isFiltered && (
                 <>
                   <p style={{color: 'red', fontWeight: 'bold'}}>
                     No items in database. Items count: {items.length}
@@ -484,7 +472,7 @@ const handleMineButtonClick = async (item) => {
             </div>
           ) : (
             <div className="items-grid">
-              {filteredItems.map((item) => {
+              {items.map((item) => {
                 const statusInfo = getStatusInfo(item.status);
                 const isCurrentUserItem = user && item.userId === user.userId;
                 
@@ -530,7 +518,7 @@ const handleMineButtonClick = async (item) => {
                       <div className="item-image-container">
                         {item.imageUrl ? (
                           <img
-                            src={`http://localhost:8080/uploads/${item.imageUrl}`}
+                            src={`http://localhost:8080${item.imageUrl}?size=thumb`}
                             alt={item.itemTitle}
                             className="item-image"
                             onError={(e) => {
@@ -568,6 +556,18 @@ const handleMineButtonClick = async (item) => {
               })}
             </div>
           )}
+
+          {!loading && nextCursor && (
+            <div className="load-more-container">
+              <button
+                className="filter-btn load-more-btn"
+                onClick={loadMoreItems}
+                disabled={loadingMore}
+              >
+                {loadingMore ? "Loading..." : "Load more"}
+              </button>
+            </div>
+          )}
         </div>
       </div>
 
@@ -228,13 +228,23 @@ const handleSubmit = async (e) => {
   formDataToSend.append('departmentId', selectedDepartment.depId);
   formDataToSend.append('dateReport', formData.dateReport);
   
-  if (formData.image) {
-    formDataToSend.append('image', formData.image);
-  }
-
     try {
       console.log("Submitting item with image:", formData.image ? formData.image.name : "No image");
 
+      // Stream the image as a raw body first, then reference the stored file in the report
+      if (formData.image) {
+        const uploadResponse = await fetch("http://localhost:8080/api/items/images", {
+          method: "POST",
+          headers: { "Content-Type": formData.image.type || "application/octet-stream" },
+          body: formData.image,
+        });
+        if (!uploadResponse.ok) {
+          throw new Error(`Image upload failed: ${uploadResponse.status} - ${await uploadResponse.text()}`);
+        }
+        const uploaded = await uploadResponse.json();
+        formDataToSend.append('imageFilename', uploaded.filename);
+      }
+
       const response = await fetch("http://localhost:8080/api/items/report", {
         method: "POST",
         body: formDataToSend,